@@ -0,0 +1,84 @@
+package com.insurancemegacorp.imcmanager.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers successful BCrypt verifications so repeated Basic-auth requests from polling
+// dashboards skip the deliberately slow hash. Entries are keyed by an HMAC-SHA256 of the
+// presented password together with the stored hash, under a random key that never leaves this
+// process: no plain password is kept, a heap dump's keys cannot be checked against guesses
+// offline, and a changed password (new stored hash) never matches an old entry. Failures are
+// never cached.
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Long> verified = new ConcurrentHashMap<>();
+    private final SecretKeySpec cacheKey;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, long ttlMs, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.cacheKey = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        String key = digest(rawPassword, encodedPassword);
+        long now = System.currentTimeMillis();
+        Long expiresAt = verified.get(key);
+        if (expiresAt != null) {
+            if (expiresAt > now) return true;
+            verified.remove(key, expiresAt);
+        }
+
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            if (verified.size() >= maxEntries) {
+                verified.values().removeIf(expiry -> expiry <= now);
+                if (verified.size() >= maxEntries) verified.clear();
+            }
+            verified.put(key, now + ttlMs);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String digest(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac hmac = Mac.getInstance("HmacSHA256");
+            hmac.init(cacheKey);
+            hmac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            hmac.update((byte) 0);
+            hmac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hmac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
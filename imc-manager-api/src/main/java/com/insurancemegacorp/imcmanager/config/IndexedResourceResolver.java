@@ -0,0 +1,195 @@
+package com.insurancemegacorp.imcmanager.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Serves the bundled dashboard from an index built once at startup, so requests never probe the
+// classpath. Picks a precompressed .br/.gz variant when the client accepts it, marks content-hashed
+// bundles as immutable and falls back to index.html for client-side routes.
+public class IndexedResourceResolver extends AbstractResourceResolver {
+
+    private static final String INDEX_HTML = "index.html";
+    private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    private final String immutablePrefix;
+    private final String immutableCacheControl;
+    private final Map<String, Entry> index = new HashMap<>();
+
+    public IndexedResourceResolver(String location, String immutablePrefix, long immutableMaxAgeSeconds) {
+        this.immutablePrefix = immutablePrefix;
+        this.immutableCacheControl = "public, max-age=" + immutableMaxAgeSeconds + ", immutable";
+        try {
+            PathMatchingResourcePatternResolver scanner = new PathMatchingResourcePatternResolver();
+            String root = scanner.getResource(location).getURL().toString();
+            for (Resource resource : scanner.getResources(location + "**")) {
+                String url = resource.getURL().toString();
+                if (!url.startsWith(root) || url.endsWith("/") || !resource.isReadable()) continue;
+                index.put(url.substring(root.length()), new Entry(resource, etagOf(resource)));
+            }
+        } catch (FileNotFoundException e) {
+            // No bundled frontend (e.g. running the API on its own); every lookup misses
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to index static resources at " + location, e);
+        }
+    }
+
+    // Supplies the content-based ETag computed at startup for whatever variant is being served
+    public String etagFor(Resource resource) {
+        return resource instanceof IndexedResource indexed ? indexed.etag : null;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        String path = requestPath.startsWith("/") ? requestPath.substring(1) : requestPath;
+        Entry entry = index.get(path);
+        if (entry == null) {
+            // Missing hashed bundles are real 404s; anything else is a client-side route
+            if (path.startsWith(immutablePrefix)) return null;
+            path = INDEX_HTML;
+            entry = index.get(path);
+            if (entry == null) return null;
+        }
+
+        boolean hasVariants = false;
+        String acceptEncoding = request != null ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null;
+        for (String[] encoding : ENCODINGS) {
+            Entry variant = index.get(path + encoding[1]);
+            if (variant == null) continue;
+            hasVariants = true;
+            if (accepts(acceptEncoding, encoding[0])) {
+                return new IndexedResource(entry.resource, variant, encoding[0], true, cacheControlFor(path));
+            }
+        }
+        return new IndexedResource(entry.resource, entry, null, hasVariants, cacheControlFor(path));
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return index.containsKey(resourceUrlPath) ? resourceUrlPath : null;
+    }
+
+    private String cacheControlFor(String path) {
+        return path.startsWith(immutablePrefix) ? immutableCacheControl : null;
+    }
+
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) return false;
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equals(coding)) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String etagOf(Resource resource) throws IOException {
+        CRC32 crc = new CRC32();
+        long length;
+        try (InputStream in = resource.getInputStream()) {
+            byte[] content = StreamUtils.copyToByteArray(in);
+            crc.update(content);
+            length = content.length;
+        }
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + Long.toHexString(length) + "\"";
+    }
+
+    private record Entry(Resource resource, String etag) {}
+
+    // The original file as far as content type and naming go, but the bytes of the chosen variant
+    private static class IndexedResource extends AbstractResource implements HttpResource {
+        private final Resource original;
+        private final Resource served;
+        private final String etag;
+        private final String contentEncoding;
+        private final boolean vary;
+        private final String cacheControl;
+
+        IndexedResource(Resource original, Entry served, String contentEncoding, boolean vary, String cacheControl) {
+            this.original = original;
+            this.served = served.resource();
+            this.etag = served.etag();
+            this.contentEncoding = contentEncoding;
+            this.vary = vary;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return served.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return served.getURL();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return served.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return served.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Indexed resource [" + served.getDescription() + "]";
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (contentEncoding != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            }
+            if (vary) {
+                headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (cacheControl != null) {
+                headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            return headers;
+        }
+    }
+}
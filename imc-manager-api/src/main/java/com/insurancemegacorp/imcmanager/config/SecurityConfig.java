@@ -23,9 +23,16 @@ public class SecurityConfig {
     @Value("${imc-manager.basic.pass:change-me}")
     private String basicPass;
 
+    @Value("${imc-manager.basic.verified-cache-ttl-ms:300000}")
+    private long verifiedCacheTtlMs;
+
+    @Value("${imc-manager.basic.verified-cache-size:1024}")
+    private int verifiedCacheSize;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Stateless Basic auth re-verifies on every poll; cache successful BCrypt checks
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), verifiedCacheTtlMs, verifiedCacheSize);
     }
 
     @Bean
@@ -1,40 +1,35 @@
 package com.insurancemegacorp.imcmanager.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.resource.PathResourceResolver;
-
-import java.io.IOException;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${imc-manager.web.immutable-prefix:assets/bundle/}")
+    private String immutablePrefix;
+
+    @Value("${imc-manager.web.immutable-max-age-seconds:31536000}")
+    private long immutableMaxAgeSeconds;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Handle static resources (CSS, JS, images)
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/static/");
-        
-        // Handle all other routes by serving index.html for client-side routing
+
+        // Handle all other routes from the startup index, serving index.html for client-side routing.
+        // Everything revalidates by ETag unless the resolver marks it immutable (hashed bundles).
+        IndexedResourceResolver resolver =
+                new IndexedResourceResolver("classpath:/static/", immutablePrefix, immutableMaxAgeSeconds);
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
-                .resourceChain(true)
-                .addResolver(new PathResourceResolver() {
-                    @Override
-                    protected Resource getResource(String resourcePath, Resource location) throws IOException {
-                        Resource requestedResource = location.createRelative(resourcePath);
-                        
-                        // If the requested resource exists, serve it
-                        if (requestedResource.exists() && requestedResource.isReadable()) {
-                            return requestedResource;
-                        }
-                        
-                        // Otherwise, serve index.html for client-side routing
-                        return new ClassPathResource("/static/index.html");
-                    }
-                });
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(resolver::etagFor)
+                .resourceChain(false)
+                .addResolver(resolver);
     }
 }
@@ -0,0 +1,152 @@
+package com.insurancemegacorp.imcmanager.service;
+
+// Closed/open/half-open breaker for one upstream instance, driven by the failure and slow-call
+// rates over the last window-size calls. Each consecutive trip doubles the open period.
+// Every state change starts a new generation; a call only counts in the generation that
+// permitted it, so a call started before a trip cannot close the breaker by finishing late.
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // tryAcquire result when the call is refused
+    public static final long NOT_PERMITTED = -1L;
+
+    private final String upstream;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long baseOpenMs;
+    private final long maxOpenMs;
+
+    // Outcome ring: 0 = ok, 1 = failed, 2 = slow
+    private final byte[] outcomes;
+    private int head;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openUntil;
+    private long currentOpenMs;
+    private boolean trialInFlight;
+    private long generation;
+    private long lastFailureAt;
+    private String lastError;
+
+    public CircuitBreaker(String upstream, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, long baseOpenMs, long maxOpenMs) {
+        this.upstream = upstream;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.baseOpenMs = baseOpenMs;
+        this.maxOpenMs = maxOpenMs;
+        this.outcomes = new byte[windowSize];
+        this.currentOpenMs = baseOpenMs;
+    }
+
+    // Claims permission for one call and returns the permit to report its outcome with, or
+    // NOT_PERMITTED; while half-open only a single trial call is let through
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() < openUntil) return NOT_PERMITTED;
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            generation++;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) return NOT_PERMITTED;
+            trialInFlight = true;
+        }
+        return generation;
+    }
+
+    // Hands back a permit whose call never started; a half-open breaker can then try again
+    public synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    // Non-claiming check used to decide whether a probe is worth scheduling
+    public synchronized boolean isCallPermitted() {
+        if (state == State.OPEN) return System.currentTimeMillis() >= openUntil;
+        return state == State.CLOSED || !trialInFlight;
+    }
+
+    // slowCallMs is the caller's own threshold, since a listing may legitimately take longer than a probe
+    public synchronized void onSuccess(long permit, long elapsedMs, long slowCallMs) {
+        if (permit != generation) return;
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(elapsedMs >= slowCallMs ? (byte) 2 : (byte) 0);
+        evaluate();
+    }
+
+    public synchronized void onFailure(long permit, String error) {
+        lastFailureAt = System.currentTimeMillis();
+        lastError = error;
+        if (permit != generation) return;
+        if (state == State.HALF_OPEN) {
+            open(Math.min(currentOpenMs * 2, maxOpenMs));
+            return;
+        }
+        record((byte) 1);
+        evaluate();
+    }
+
+    private void record(byte outcome) {
+        if (recorded == windowSize) {
+            byte evicted = outcomes[head];
+            if (evicted == 1) failures--;
+            if (evicted == 2) slowCalls--;
+        } else {
+            recorded++;
+        }
+        outcomes[head] = outcome;
+        if (outcome == 1) failures++;
+        if (outcome == 2) slowCalls++;
+        head = (head + 1) % windowSize;
+    }
+
+    private void evaluate() {
+        if (state != State.CLOSED || recorded < minimumCalls) return;
+        if ((double) failures / recorded >= failureRateThreshold
+                || (double) slowCalls / recorded >= slowCallRateThreshold) {
+            open(baseOpenMs);
+        }
+    }
+
+    private void open(long openMs) {
+        state = State.OPEN;
+        generation++;
+        currentOpenMs = openMs;
+        openUntil = System.currentTimeMillis() + openMs;
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        currentOpenMs = baseOpenMs;
+        trialInFlight = false;
+        head = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    public String getUpstream() { return upstream; }
+    public synchronized State getState() { return state; }
+    public synchronized long getOpenUntil() { return state == State.OPEN ? openUntil : 0L; }
+    public synchronized long getCurrentOpenMs() { return currentOpenMs; }
+    public synchronized int getRecordedCalls() { return recorded; }
+    public synchronized int getFailedCalls() { return failures; }
+    public synchronized int getSlowCalls() { return slowCalls; }
+    public synchronized long getLastFailureAt() { return lastFailureAt; }
+    public synchronized String getLastError() { return lastError; }
+}
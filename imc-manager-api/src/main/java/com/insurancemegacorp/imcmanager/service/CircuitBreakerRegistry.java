@@ -0,0 +1,79 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One breaker per upstream instance, keyed by scheme://host:port, shared by probes and proxies
+@Component
+public class CircuitBreakerRegistry {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    // A call slower than its profile's threshold counts as slow; each sits below that profile's read timeout
+    private final Map<UpstreamGateway.CallProfile, Long> slowCallMs = new EnumMap<>(UpstreamGateway.CallProfile.class);
+    private final long openMs;
+    private final long maxOpenMs;
+
+    public CircuitBreakerRegistry(
+            @Value("${imc-manager.circuit.window-size:20}") int windowSize,
+            @Value("${imc-manager.circuit.minimum-calls:5}") int minimumCalls,
+            @Value("${imc-manager.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${imc-manager.circuit.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+            @Value("${imc-manager.circuit.slow-call-ms.probe:2000}") long probeSlowCallMs,
+            @Value("${imc-manager.circuit.slow-call-ms.read:2500}") long readSlowCallMs,
+            @Value("${imc-manager.circuit.slow-call-ms.listing:10000}") long listingSlowCallMs,
+            @Value("${imc-manager.circuit.slow-call-ms.control:5000}") long controlSlowCallMs,
+            @Value("${imc-manager.circuit.open-ms:10000}") long openMs,
+            @Value("${imc-manager.circuit.max-open-ms:300000}") long maxOpenMs) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallMs.put(UpstreamGateway.CallProfile.PROBE, probeSlowCallMs);
+        this.slowCallMs.put(UpstreamGateway.CallProfile.READ, readSlowCallMs);
+        this.slowCallMs.put(UpstreamGateway.CallProfile.LISTING, listingSlowCallMs);
+        this.slowCallMs.put(UpstreamGateway.CallProfile.CONTROL, controlSlowCallMs);
+        this.openMs = openMs;
+        this.maxOpenMs = maxOpenMs;
+    }
+
+    public CircuitBreaker forUrl(String url) {
+        String upstream = originOf(url);
+        return breakers.computeIfAbsent(upstream, key -> new CircuitBreaker(key, windowSize, minimumCalls,
+            failureRateThreshold, slowCallRateThreshold, openMs, maxOpenMs));
+    }
+
+    public long slowCallMs(UpstreamGateway.CallProfile profile) {
+        return slowCallMs.get(profile);
+    }
+
+    public boolean isCallPermitted(String url) {
+        CircuitBreaker breaker = breakers.get(originOf(url));
+        return breaker == null || breaker.isCallPermitted();
+    }
+
+    public List<CircuitBreaker> getBreakers() {
+        return new ArrayList<>(breakers.values());
+    }
+
+    static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) return url;
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
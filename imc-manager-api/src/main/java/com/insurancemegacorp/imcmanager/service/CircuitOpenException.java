@@ -0,0 +1,15 @@
+package com.insurancemegacorp.imcmanager.service;
+
+public class CircuitOpenException extends RuntimeException {
+
+    private final String upstream;
+
+    public CircuitOpenException(String upstream) {
+        super("Circuit open for " + upstream + "; not calling it until it recovers");
+        this.upstream = upstream;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+}
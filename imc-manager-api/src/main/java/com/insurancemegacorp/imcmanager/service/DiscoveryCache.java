@@ -0,0 +1,114 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.discovery.event.InstanceRegisteredEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class DiscoveryCache {
+
+    private final DiscoveryClient discoveryClient;
+
+    // Replaced wholesale on every refresh so readers always see one consistent snapshot
+    private volatile Map<String, List<CachedInstance>> snapshot = Map.of();
+    // scheme://host:port -> instance, so a bare upstream URL can be attributed to its service
+    private volatile Map<String, CachedInstance> byOrigin = Map.of();
+    // Bumped whenever a refresh actually changes the set of instances or their URLs
+    private volatile long version;
+
+    public DiscoveryCache(DiscoveryClient discoveryClient) {
+        this.discoveryClient = discoveryClient;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, HeartbeatEvent.class, InstanceRegisteredEvent.class})
+    public void onDiscoveryEvent() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        Map<String, List<CachedInstance>> next = new HashMap<>();
+        try {
+            for (String serviceName : discoveryClient.getServices()) {
+                List<CachedInstance> instances = new ArrayList<>();
+                for (ServiceInstance instance : discoveryClient.getInstances(serviceName)) {
+                    instances.add(new CachedInstance(serviceName.toLowerCase(Locale.ROOT),
+                        instance.getInstanceId(), instance.getUri().toString()));
+                }
+                if (!instances.isEmpty()) {
+                    next.put(serviceName.toLowerCase(Locale.ROOT), List.copyOf(instances));
+                }
+            }
+        } catch (Exception e) {
+            // Keep serving the previous snapshot if the registry cannot be read
+            return;
+        }
+        Map<String, List<CachedInstance>> refreshed = Map.copyOf(next);
+        if (!refreshed.equals(snapshot)) {
+            Map<String, CachedInstance> origins = new HashMap<>();
+            refreshed.values().forEach(instances -> instances.forEach(instance ->
+                origins.putIfAbsent(CircuitBreakerRegistry.originOf(instance.getUrl()), instance)));
+            byOrigin = Map.copyOf(origins);
+            snapshot = refreshed;
+            version++;
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CachedInstance> getInstances(String serviceName) {
+        return snapshot.getOrDefault(serviceName.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    public String getUrl(String serviceName) {
+        List<CachedInstance> instances = getInstances(serviceName);
+        return instances.isEmpty() ? null : instances.get(0).getUrl();
+    }
+
+    // The registered instance an upstream URL points at, or null if it is not in the registry
+    public CachedInstance findByUrl(String url) {
+        return byOrigin.get(CircuitBreakerRegistry.originOf(url));
+    }
+
+    public static class CachedInstance {
+        private final String serviceName;
+        private final String instanceId;
+        private final String url;
+
+        public CachedInstance(String serviceName, String instanceId, String url) {
+            this.serviceName = serviceName;
+            this.instanceId = instanceId;
+            this.url = url;
+        }
+
+        public String getServiceName() { return serviceName; }
+        public String getInstanceId() { return instanceId; }
+        public String getUrl() { return url; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CachedInstance)) return false;
+            CachedInstance other = (CachedInstance) o;
+            return Objects.equals(serviceName, other.serviceName) && Objects.equals(instanceId, other.instanceId)
+                && Objects.equals(url, other.url);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceName, instanceId, url);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class EventHub {
+
+    private final ObjectMapper objectMapper;
+    private final int clientBufferSize;
+    private final long heartbeatSeconds;
+    private final long emitterTimeoutMs;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // Ring-buffer journal of published events for Last-Event-ID replay
+    private final Frame[] journal;
+    private long nextEventId = 1;
+
+    public EventHub(
+            ObjectMapper objectMapper,
+            @Value("${imc-manager.stream.client-buffer:64}") int clientBufferSize,
+            @Value("${imc-manager.stream.journal-size:1024}") int journalSize,
+            @Value("${imc-manager.stream.heartbeat-seconds:5}") long heartbeatSeconds,
+            @Value("${imc-manager.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.clientBufferSize = clientBufferSize;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.journal = new Frame[journalSize];
+    }
+
+    @PostConstruct
+    public void init() {
+        heartbeatScheduler.scheduleAtFixedRate(this::broadcastHeartbeat,
+            heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (Client client : clients) {
+            client.emitter.complete();
+        }
+        drainExecutor.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        // Replay and register under the journal lock, so every event is either in the replay or
+        // published after registration. A publisher that journaled an event before the replay may
+        // still offer it afterwards; the client skips ids it has already replayed.
+        synchronized (this) {
+            if (lastEventId != null) {
+                for (Frame frame : replaySince(lastEventId)) {
+                    client.offer(frame, clientBufferSize);
+                }
+                client.replayedThrough = nextEventId - 1;
+            }
+            client.offer(heartbeatFrame(), clientBufferSize);
+            clients.add(client);
+        }
+        scheduleDrain(client);
+        return emitter;
+    }
+
+    // Events that share a coalesceKey replace each other in a slow client's buffer;
+    // a null key means every event is delivered (subject to the buffer bound).
+    public void publish(String coalesceKey, Map<String, Object> event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (IOException e) {
+            return;
+        }
+
+        Frame frame;
+        synchronized (this) {
+            long id = nextEventId++;
+            frame = new Frame(id, null, coalesceKey != null ? coalesceKey : "#" + id, data);
+            journal[(int) (id % journal.length)] = frame;
+        }
+
+        for (Client client : clients) {
+            client.offer(frame, clientBufferSize);
+            scheduleDrain(client);
+        }
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    private synchronized List<Frame> replaySince(long lastEventId) {
+        List<Frame> frames = new ArrayList<>();
+        long oldest = Math.max(1, nextEventId - journal.length);
+        for (long id = Math.max(lastEventId + 1, oldest); id < nextEventId; id++) {
+            Frame frame = journal[(int) (id % journal.length)];
+            if (frame != null && frame.id == id) {
+                frames.add(frame);
+            }
+        }
+        return frames;
+    }
+
+    private void broadcastHeartbeat() {
+        Frame frame = heartbeatFrame();
+        for (Client client : clients) {
+            client.offer(frame, clientBufferSize);
+            scheduleDrain(client);
+        }
+    }
+
+    private Frame heartbeatFrame() {
+        return new Frame(null, "heartbeat", "heartbeat", String.valueOf(System.currentTimeMillis()));
+    }
+
+    private void scheduleDrain(Client client) {
+        if (client.claimDrain()) {
+            drainExecutor.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        Frame frame;
+        while ((frame = client.poll()) != null) {
+            try {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().data(frame.data);
+                if (frame.id != null) event.id(String.valueOf(frame.id));
+                if (frame.name != null) event.name(frame.name);
+                client.emitter.send(event);
+            } catch (Exception e) {
+                clients.remove(client);
+                client.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private static class Frame {
+        private final Long id;
+        private final String name;
+        private final String key;
+        private final String data;
+
+        Frame(Long id, String name, String key, String data) {
+            this.id = id;
+            this.name = name;
+            this.key = key;
+            this.data = data;
+        }
+    }
+
+    private static class Client {
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, Frame> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private long replayedThrough;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(Frame frame, int capacity) {
+            // Already delivered by the replay
+            if (frame.id != null && frame.id <= replayedThrough) {
+                return;
+            }
+            // Coalesce: a newer frame for the same key replaces the queued one and moves to the tail
+            pending.remove(frame.key);
+            if (pending.size() >= capacity) {
+                Iterator<String> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            pending.put(frame.key, frame);
+        }
+
+        synchronized boolean claimDrain() {
+            if (draining || pending.isEmpty()) return false;
+            draining = true;
+            return true;
+        }
+
+        synchronized Frame poll() {
+            Iterator<Frame> it = pending.values().iterator();
+            if (!it.hasNext()) {
+                draining = false;
+                return null;
+            }
+            Frame frame = it.next();
+            it.remove();
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Local, indexed mirror of a file catalog: the listing behind the files endpoint of the first
+// catalog service that has one (hdfswatcher's /api/files). One sync per interval feeds every
+// browser; each changed entry is stamped with a catalog version so clients can ask for deltas.
+@Service
+public class FileCatalogService {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private ServiceRegistryService serviceRegistryService;
+
+    @Autowired
+    private UpstreamGateway upstreamGateway;
+
+    @Value("${imc-manager.catalog.sync-seconds:15}")
+    private long syncSeconds;
+
+    @Value("${imc-manager.catalog.max-tombstones:10000}")
+    private int maxTombstones;
+
+    @Value("${imc-manager.catalog.max-page-size:1000}")
+    private int maxPageSize;
+
+    // A mirror not refreshed for this long (hdfswatcher gone or failing) is reported as stale
+    @Value("${imc-manager.catalog.stale-seconds:60}")
+    private long staleSeconds;
+
+    private final ScheduledExecutorService syncScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // Primary index by path, plus a secondary index ordered by state then path
+    private final ConcurrentSkipListMap<String, CatalogEntry> byPath = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, CatalogEntry> byState = new ConcurrentSkipListMap<>();
+    // Removed paths, oldest first, so delta queries can report deletions
+    private final LinkedHashMap<String, Long> tombstones = new LinkedHashMap<>();
+
+    private volatile long version;
+    private volatile long oldestDeltaVersion;
+    private volatile boolean synced;
+    private volatile Map<String, Object> summary = Map.of();
+    private volatile Map<String, Integer> stateCounts = Map.of();
+    private volatile Date lastSync;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        syncScheduler.scheduleWithFixedDelay(this::sync, 0, syncSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncScheduler.shutdownNow();
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    // The catalog service whose listing is mirrored, or null when no service has a files endpoint
+    public String getServiceName() {
+        ServiceCatalog.ServiceDefinition source = source();
+        return source != null ? source.getName() : null;
+    }
+
+    private ServiceCatalog.ServiceDefinition source() {
+        for (ServiceCatalog.ServiceDefinition service : serviceCatalog.getServices()) {
+            if (service.getEndpoint("files") != null) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    // Files in the last synced listing
+    public int getFileCount() {
+        return byPath.size();
+    }
+
+    // Pulls a fresh catalog as soon as possible, e.g. after a reprocess changed every file state
+    public void requestSync() {
+        syncScheduler.execute(this::sync);
+    }
+
+    private void sync() {
+        try {
+            ServiceCatalog.ServiceDefinition source = source();
+            String url = source != null ? serviceRegistryService.getServiceUrl(source.getName()) : null;
+            if (url == null) return;
+
+            ResponseEntity<Map> response = upstreamGateway.get(
+                url + source.getEndpoint("files"),
+                UpstreamGateway.CallProfile.LISTING,
+                Map.class
+            );
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) return;
+
+            apply(response.getBody());
+        } catch (Exception e) {
+            // Keep serving the last synced catalog; the next tick retries
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void apply(Map<String, Object> listing) {
+        Object filesObj = listing.get("files");
+        List<Object> files = filesObj instanceof List ? (List<Object>) filesObj : List.of();
+
+        long nextVersion = version + 1;
+        boolean changed = false;
+        Set<String> seen = new HashSet<>();
+        Map<String, Integer> counts = new TreeMap<>();
+
+        for (Object fileObj : files) {
+            if (!(fileObj instanceof Map)) continue;
+            Map<String, Object> file = (Map<String, Object>) fileObj;
+            String path = pathOf(file);
+            if (path == null || !seen.add(path)) continue;
+
+            String state = file.get("state") != null ? file.get("state").toString() : "pending";
+            counts.merge(state, 1, Integer::sum);
+
+            Map<String, Object> attributes = withoutNulls(file);
+            CatalogEntry existing = byPath.get(path);
+            if (existing != null && existing.attributes.equals(attributes)) continue;
+            if (existing != null) {
+                byState.remove(stateKey(existing));
+            }
+
+            CatalogEntry entry = new CatalogEntry(path, state, attributes, nextVersion);
+            byPath.put(path, entry);
+            byState.put(stateKey(entry), entry);
+            tombstones.remove(path);
+            changed = true;
+        }
+
+        Iterator<Map.Entry<String, CatalogEntry>> it = byPath.entrySet().iterator();
+        while (it.hasNext()) {
+            CatalogEntry entry = it.next().getValue();
+            if (!seen.contains(entry.path)) {
+                it.remove();
+                byState.remove(stateKey(entry));
+                tombstones.put(entry.path, nextVersion);
+                changed = true;
+            }
+        }
+        while (tombstones.size() > maxTombstones) {
+            Iterator<Map.Entry<String, Long>> oldest = tombstones.entrySet().iterator();
+            oldestDeltaVersion = Math.max(oldestDeltaVersion, oldest.next().getValue());
+            oldest.remove();
+        }
+
+        Map<String, Object> nextSummary = new LinkedHashMap<>(listing);
+        nextSummary.remove("files");
+        summary = Collections.unmodifiableMap(nextSummary);
+        stateCounts = Collections.unmodifiableMap(counts);
+        lastSync = new Date();
+        if (changed) {
+            version = nextVersion;
+        }
+        synced = true;
+    }
+
+    public boolean isStale() {
+        Date synced = lastSync;
+        return synced == null || System.currentTimeMillis() - synced.getTime() > TimeUnit.SECONDS.toMillis(staleSeconds);
+    }
+
+    // One page of the catalog, optionally filtered to one state and ordered by path or by state.
+    // Without a limit the whole (filtered) catalog is returned, as existing dashboards expect.
+    // Read under the sync lock so a page never mixes two syncs' entries.
+    public synchronized Map<String, Object> getPage(String state, String sort, String cursor, Integer limit) {
+        int pageSize = limit != null && limit > 0 ? Math.min(limit, maxPageSize) : Integer.MAX_VALUE;
+        boolean sortByState = "state".equalsIgnoreCase(sort) || state != null;
+
+        ConcurrentNavigableMap<String, CatalogEntry> index = sortByState ? byState : byPath;
+        if (state != null) {
+            index = index.subMap(state + KEY_SEPARATOR, true, state + (char) (KEY_SEPARATOR + 1), false);
+        }
+        if (cursor != null) {
+            index = index.tailMap(decodeCursor(cursor), false);
+        }
+
+        List<Map<String, Object>> files = new ArrayList<>(Math.min(pageSize, byPath.size()));
+        String lastKey = null;
+        for (Map.Entry<String, CatalogEntry> entry : index.entrySet()) {
+            if (files.size() == pageSize) break;
+            files.add(entry.getValue().attributes);
+            lastKey = entry.getKey();
+        }
+        boolean hasMore = lastKey != null && index.higherKey(lastKey) != null;
+
+        Map<String, Object> page = new LinkedHashMap<>(summary);
+        page.put("files", files);
+        page.put("version", version);
+        page.put("stateCounts", stateCounts);
+        page.put("nextCursor", hasMore ? encodeCursor(lastKey) : null);
+        putFreshness(page);
+        return page;
+    }
+
+    // Entries added or changed after sinceVersion plus paths removed since then. If the removals
+    // needed to answer have already been evicted, or sinceVersion is ahead of the mirror because it
+    // was handed out before a restart (versions start at 0 on every boot), the client is told to
+    // reload a full page.
+    public synchronized Map<String, Object> getDelta(long sinceVersion) {
+        Map<String, Object> delta = new LinkedHashMap<>(summary);
+        delta.put("version", version);
+        delta.put("sinceVersion", sinceVersion);
+        delta.put("stateCounts", stateCounts);
+        putFreshness(delta);
+
+        if (sinceVersion < oldestDeltaVersion || sinceVersion > version) {
+            delta.put("fullResync", true);
+            delta.put("files", List.of());
+            delta.put("removed", List.of());
+            return delta;
+        }
+
+        List<Map<String, Object>> changed = new ArrayList<>();
+        if (sinceVersion < version) {
+            for (CatalogEntry entry : byPath.values()) {
+                if (entry.version > sinceVersion) {
+                    changed.add(entry.attributes);
+                }
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (Map.Entry<String, Long> tombstone : tombstones.entrySet()) {
+            if (tombstone.getValue() > sinceVersion) {
+                removed.add(tombstone.getKey());
+            }
+        }
+
+        delta.put("fullResync", false);
+        delta.put("files", changed);
+        delta.put("removed", removed);
+        return delta;
+    }
+
+    private void putFreshness(Map<String, Object> body) {
+        body.put("lastSync", lastSync);
+        body.put("lastSyncedAt", lastSync != null ? lastSync.getTime() : null);
+        body.put("stale", isStale());
+    }
+
+    private static String pathOf(Map<String, Object> file) {
+        for (String key : new String[] {"path", "name", "filename"}) {
+            Object value = file.get(key);
+            if (value != null) return value.toString();
+        }
+        return null;
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> file) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        file.forEach((k, v) -> {
+            if (v != null) copy.put(k, v);
+        });
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static String stateKey(CatalogEntry entry) {
+        return entry.state + KEY_SEPARATOR + entry.path;
+    }
+
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static class CatalogEntry {
+        private final String path;
+        private final String state;
+        private final Map<String, Object> attributes;
+        private final long version;
+
+        CatalogEntry(String path, String state, Map<String, Object> attributes, long version) {
+            this.path = path;
+            this.state = state;
+            this.attributes = attributes;
+            this.version = version;
+        }
+    }
+}
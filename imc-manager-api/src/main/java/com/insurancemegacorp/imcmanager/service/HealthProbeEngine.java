@@ -0,0 +1,91 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Component
+public class HealthProbeEngine {
+
+    private final ExecutorService probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final long deadlineMs;
+    private final MeterRegistry meterRegistry;
+
+    public HealthProbeEngine(@Value("${imc-manager.probe.deadline-ms:6000}") long deadlineMs,
+                             MeterRegistry meterRegistry) {
+        this.deadlineMs = deadlineMs;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("imc.probe.inflight", inFlight, Map::size)
+            .description("Health probes currently waiting on an upstream")
+            .register(meterRegistry);
+    }
+
+    // Runs the probe on its own virtual thread and reports exactly one result per probe.
+    // A probe that fails or misses its deadline reports failureResult. The key stays in flight
+    // until the probe's thread has actually returned, even past the deadline, and a key that
+    // still has a probe in flight is skipped, so a hung upstream holds at most one thread.
+    // The deadline should sit above the transport's own connect + read timeouts and bulkhead
+    // wait, so it only fires for an upstream that ignores them.
+    public <T> boolean submit(String key, Supplier<T> probe, Consumer<T> onResult, T failureResult) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) != null) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        probeExecutor.execute(() -> {
+            try {
+                future.complete(probe.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                inFlight.remove(key, future);
+            }
+        });
+
+        future.orTimeout(deadlineMs, TimeUnit.MILLISECONDS)
+            .whenComplete((result, error) -> {
+                record(key, System.nanoTime() - start, result, error);
+                onResult.accept(error != null || result == null ? failureResult : result);
+            });
+        return true;
+    }
+
+    // Outcome TIMEOUT means the probe missed its deadline, not that the upstream read timed out
+    private void record(String key, long elapsedNanos, Object result, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String outcome = cause instanceof TimeoutException ? "TIMEOUT"
+            : cause != null || result == null ? "FAILURE" : "SUCCESS";
+        int slash = key.indexOf('/');
+        Timer.builder("imc.probe.duration")
+            .description("Health probe duration, from dispatch to result")
+            .tag("service", slash > 0 ? key.substring(0, slash) : key)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isInFlight(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,249 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Per-instance state derived from the pipeline apps' own events. Each instance's state is an
+// immutable LiveState behind an AtomicReference and every event swaps in a successor with a
+// CAS, so concurrent events never block each other or readers. An instance whose events stop
+// for longer than heartbeat-timeout-ms is no longer fresh and goes back to being polled.
+// Status changes are handed on one at a time per instance and in CAS order, so the registry
+// never ends up with an older state than the one the store holds.
+@Component
+public class LiveStatusStore {
+
+    private final Map<String, InstanceEntry> states = new ConcurrentHashMap<>();
+    private final long heartbeatTimeoutMs;
+
+    public LiveStatusStore(@Value("${imc-manager.events.heartbeat-timeout-ms:15000}") long heartbeatTimeoutMs) {
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+    }
+
+    // Folds the event in and, when the event states a status or the status changed, passes the
+    // new state to onStatus. A state already overtaken by a later one is not passed on.
+    public LiveState apply(String serviceName, String instanceId, String url, PipelineEvent event,
+                           Consumer<LiveState> onStatus) {
+        String key = key(serviceName, instanceId);
+        InstanceEntry entry = states.get(key);
+        if (entry == null) {
+            entry = states.computeIfAbsent(key, k -> new InstanceEntry(LiveState.initial(serviceName, instanceId, url)));
+        }
+        LiveState previous;
+        LiveState next;
+        do {
+            previous = entry.state.get();
+            next = previous.next(event, System.currentTimeMillis());
+        } while (!entry.state.compareAndSet(previous, next));
+
+        if (next.status != null && (statusOf(event) != null || !next.status.equals(previous.status))) {
+            entry.publish(next, onStatus);
+        }
+        return next;
+    }
+
+    // Forgets the instance's event status after the manager changed it (start/stop), so a
+    // heartbeat cannot restore the old one and the instance is polled until it reports again.
+    // Status changes from events applied before this are no longer passed on.
+    public void clearStatus(String serviceName, String instanceId) {
+        InstanceEntry entry = states.get(key(serviceName, instanceId));
+        if (entry != null) {
+            entry.clearStatus();
+        }
+    }
+
+    public LiveState get(String serviceName, String instanceId) {
+        InstanceEntry entry = states.get(key(serviceName, instanceId));
+        return entry != null ? entry.state.get() : null;
+    }
+
+    // True while the instance's events arrive often enough to stand in for probes
+    public boolean isFresh(String serviceName, String instanceId) {
+        LiveState state = get(serviceName, instanceId);
+        return state != null && state.getStatus() != null
+            && System.currentTimeMillis() - state.getLastEventAt() < heartbeatTimeoutMs;
+    }
+
+    public List<LiveState> getStates() {
+        List<LiveState> snapshot = new ArrayList<>(states.size());
+        states.values().forEach(entry -> snapshot.add(entry.state.get()));
+        return snapshot;
+    }
+
+    // Drops instances that left the registry; keys are service/instanceId
+    public void retain(Set<String> liveKeys) {
+        states.keySet().retainAll(liveKeys);
+    }
+
+    public static String key(String serviceName, String instanceId) {
+        return serviceName + "/" + instanceId;
+    }
+
+    // Maps the apps' status vocabulary onto the manager's; null when the event does not say
+    static String statusOf(PipelineEvent event) {
+        if (PipelineEvent.FILE_PROCESSED.equals(event.getEvent())) {
+            return "STARTED";
+        }
+        if (event.getStatus() == null) {
+            return null;
+        }
+        return switch (event.getStatus().toUpperCase(Locale.ROOT)) {
+            case "STARTED", "PROCESSING", "RUNNING", "ENABLED", "ACTIVE", "UP" -> "STARTED";
+            case "STOPPED", "DISABLED", "PAUSED", "IDLE" -> "STOPPED";
+            case "ERROR", "FAILED", "DOWN" -> "ERROR";
+            default -> null;
+        };
+    }
+
+    private static final class InstanceEntry {
+        private final AtomicReference<LiveState> state;
+        // Sequence of the last state passed on; guarded by this entry
+        private long published;
+
+        InstanceEntry(LiveState initial) {
+            this.state = new AtomicReference<>(initial);
+        }
+
+        synchronized void publish(LiveState next, Consumer<LiveState> onStatus) {
+            if (next.sequence > published) {
+                published = next.sequence;
+                onStatus.accept(next);
+            }
+        }
+
+        synchronized void clearStatus() {
+            LiveState cleared = state.updateAndGet(LiveState::withoutStatus);
+            published = cleared.sequence;
+        }
+    }
+
+    public static final class LiveState {
+        private final String serviceName;
+        private final String instanceId;
+        private final String url;
+        private final String status;
+        // Bumped on every swap, so states of one instance are ordered
+        private final long sequence;
+        private final long startedAt;
+        private final long lastEventAt;
+        private final long lastEventTimestamp;
+        private final long eventsReceived;
+        private final Long filesProcessed;
+        private final Long filesTotal;
+        private final Long processedChunks;
+        private final Long totalChunks;
+        private final Double processingRate;
+        private final Long pendingMessages;
+        private final Double memoryUsedMB;
+        private final Long errorCount;
+        private final String currentFile;
+
+        private LiveState(String serviceName, String instanceId, String url, String status, long sequence,
+                          long startedAt,
+                          long lastEventAt, long lastEventTimestamp, long eventsReceived,
+                          Long filesProcessed, Long filesTotal, Long processedChunks, Long totalChunks,
+                          Double processingRate, Long pendingMessages, Double memoryUsedMB, Long errorCount,
+                          String currentFile) {
+            this.serviceName = serviceName;
+            this.instanceId = instanceId;
+            this.url = url;
+            this.status = status;
+            this.sequence = sequence;
+            this.startedAt = startedAt;
+            this.lastEventAt = lastEventAt;
+            this.lastEventTimestamp = lastEventTimestamp;
+            this.eventsReceived = eventsReceived;
+            this.filesProcessed = filesProcessed;
+            this.filesTotal = filesTotal;
+            this.processedChunks = processedChunks;
+            this.totalChunks = totalChunks;
+            this.processingRate = processingRate;
+            this.pendingMessages = pendingMessages;
+            this.memoryUsedMB = memoryUsedMB;
+            this.errorCount = errorCount;
+            this.currentFile = currentFile;
+        }
+
+        static LiveState initial(String serviceName, String instanceId, String url) {
+            return new LiveState(serviceName, instanceId, url, null, 0, 0, 0, 0, 0,
+                null, null, null, null, null, null, null, null, null);
+        }
+
+        LiveState withoutStatus() {
+            return new LiveState(serviceName, instanceId, url, null, sequence + 1, startedAt, lastEventAt,
+                lastEventTimestamp, eventsReceived, filesProcessed, filesTotal, processedChunks, totalChunks,
+                processingRate, pendingMessages, memoryUsedMB, errorCount, currentFile);
+        }
+
+        // Fields the event carries replace the old ones; INIT starts the counters afresh. An event
+        // older than the last one applied only counts as a sign of life.
+        LiveState next(PipelineEvent event, long now) {
+            long timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+            if (timestamp < lastEventTimestamp) {
+                return new LiveState(serviceName, instanceId, url, status, sequence + 1, startedAt, now,
+                    lastEventTimestamp,
+                    eventsReceived + 1, filesProcessed, filesTotal, processedChunks, totalChunks, processingRate,
+                    pendingMessages, memoryUsedMB, errorCount, currentFile);
+            }
+            boolean init = PipelineEvent.INIT.equals(event.getEvent());
+            LiveState base = init ? initial(serviceName, instanceId, url) : this;
+            String nextStatus = statusOf(event);
+
+            Long files = event.getFilesProcessed();
+            if (files == null && PipelineEvent.FILE_PROCESSED.equals(event.getEvent())) {
+                // A bare FILE_PROCESSED still moves the count on by one
+                files = base.filesProcessed != null ? base.filesProcessed + 1 : null;
+            }
+            return new LiveState(
+                serviceName,
+                instanceId,
+                event.getUrl() != null ? event.getUrl() : url,
+                nextStatus != null ? nextStatus : base.status,
+                sequence + 1,
+                init || startedAt == 0 ? timestamp : startedAt,
+                now,
+                timestamp,
+                eventsReceived + 1,
+                files != null ? files : base.filesProcessed,
+                orElse(event.getFilesTotal(), base.filesTotal),
+                orElse(event.getProcessedChunks(), base.processedChunks),
+                orElse(event.getTotalChunks(), base.totalChunks),
+                orElse(event.getProcessingRate(), base.processingRate),
+                orElse(event.getPendingMessages(), base.pendingMessages),
+                orElse(event.getMemoryUsedMB(), base.memoryUsedMB),
+                orElse(event.getErrorCount(), base.errorCount),
+                event.getCurrentFile() != null ? event.getCurrentFile()
+                    : event.getFilename() != null ? event.getFilename() : base.currentFile
+            );
+        }
+
+        private static <T> T orElse(T value, T fallback) {
+            return value != null ? value : fallback;
+        }
+
+        public String getServiceName() { return serviceName; }
+        public String getInstanceId() { return instanceId; }
+        public String getUrl() { return url; }
+        public String getStatus() { return status; }
+        public long getStartedAt() { return startedAt; }
+        public long getLastEventAt() { return lastEventAt; }
+        public long getEventsReceived() { return eventsReceived; }
+        public Long getFilesProcessed() { return filesProcessed; }
+        public Long getFilesTotal() { return filesTotal; }
+        public Long getProcessedChunks() { return processedChunks; }
+        public Long getTotalChunks() { return totalChunks; }
+        public Double getProcessingRate() { return processingRate; }
+        public Long getPendingMessages() { return pendingMessages; }
+        public Double getMemoryUsedMB() { return memoryUsedMB; }
+        public Long getErrorCount() { return errorCount; }
+        public String getCurrentFile() { return currentFile; }
+    }
+}
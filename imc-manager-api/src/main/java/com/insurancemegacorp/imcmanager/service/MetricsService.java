@@ -0,0 +1,128 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class MetricsService {
+
+    private static final long ONE_MINUTE_MS = 60_000L;
+    private static final long FIVE_MINUTES_MS = 300_000L;
+
+    @Autowired
+    private ServiceRegistryService serviceRegistryService;
+
+    @Value("${imc-manager.metrics.sample-seconds:10}")
+    private long sampleSeconds;
+
+    @Value("${imc-manager.metrics.capacity:360}")
+    private int capacity;
+
+    @Value("${imc-manager.metrics.sparkline-points:60}")
+    private int sparklinePoints;
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, ComponentSeries> components = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        sampler.scheduleAtFixedRate(this::sample, sampleSeconds, sampleSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    // A rate or file count no instance reports (actuator-probed services have neither) is left out
+    // of the series rather than recorded as 0, and so is a file count only some instances report
+    private void sample() {
+        try {
+            long now = System.currentTimeMillis();
+            for (ServiceRegistryService.ServiceInfo service : serviceRegistryService.getAvailableServices()) {
+                // Last run's numbers would show up as a burst of throughput once live ones arrive
+                if (service.isStale()) continue;
+                Long filesProcessed = 0L;
+                for (ServiceRegistryService.InstanceStatus instance : service.getInstances()) {
+                    if (instance.getFilesProcessed() == null) {
+                        filesProcessed = null;
+                        break;
+                    }
+                    filesProcessed += instance.getFilesProcessed();
+                }
+                ComponentSeries series = components.computeIfAbsent(service.getName(), k -> new ComponentSeries(capacity));
+                if (service.getProcessingRate() != null) {
+                    series.processingRate.add(now, service.getProcessingRate());
+                }
+                if (filesProcessed != null && !service.getInstances().isEmpty()) {
+                    series.filesProcessed.add(now, filesProcessed);
+                }
+                series.activeInstances.add(now, service.getActiveInstances());
+            }
+        } catch (Exception e) {
+            // Skip this sample; the next tick retries
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> componentMetrics = new LinkedHashMap<>();
+        double totalRate = 0.0;
+        long totalFiles = 0;
+
+        for (Map.Entry<String, ComponentSeries> entry : components.entrySet()) {
+            ComponentSeries series = entry.getValue();
+            if (series.activeInstances.size() == 0) continue;
+
+            // Fields of a series that has never had a value are absent, not 0
+            Map<String, Object> component = new LinkedHashMap<>();
+            if (series.processingRate.size() > 0) {
+                component.put("processingRate", series.processingRate.latest());
+                component.put("processingRateAvg1m", series.processingRate.average(ONE_MINUTE_MS));
+                component.put("processingRateAvg5m", series.processingRate.average(FIVE_MINUTES_MS));
+                component.put("processingRateSparkline", series.processingRate.sparkline(sparklinePoints));
+                totalRate += series.processingRate.latest();
+            }
+            if (series.filesProcessed.size() > 0) {
+                component.put("filesProcessed", (long) series.filesProcessed.latest());
+                component.put("filesPerMinute1m", series.filesProcessed.ratePerSecond(ONE_MINUTE_MS) * 60);
+                component.put("filesPerMinute5m", series.filesProcessed.ratePerSecond(FIVE_MINUTES_MS) * 60);
+                component.put("filesProcessedSparkline", series.filesProcessed.sparkline(sparklinePoints));
+                totalFiles += (long) series.filesProcessed.latest();
+            }
+            component.put("activeInstances", (int) series.activeInstances.latest());
+            component.put("lastSample", series.activeInstances.latestTimestamp());
+            componentMetrics.put(entry.getKey(), component);
+        }
+
+        result.put("timestamp", System.currentTimeMillis());
+        result.put("sampleIntervalSeconds", sampleSeconds);
+        result.put("totalProcessingRate", totalRate);
+        result.put("totalFilesProcessed", totalFiles);
+        result.put("components", componentMetrics);
+        return result;
+    }
+
+    private static class ComponentSeries {
+        private final RingSeries processingRate;
+        private final RingSeries filesProcessed;
+        private final RingSeries activeInstances;
+
+        ComponentSeries(int capacity) {
+            this.processingRate = new RingSeries(capacity);
+            this.filesProcessed = new RingSeries(capacity);
+            this.activeInstances = new RingSeries(capacity);
+        }
+    }
+}
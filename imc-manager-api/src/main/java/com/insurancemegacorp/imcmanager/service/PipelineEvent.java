@@ -0,0 +1,71 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One event as the pipeline apps emit it (the dashboard's EventDto): INIT when an instance
+// starts, HEARTBEAT periodically, FILE_PROCESSED per file. Every metric field is optional.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PipelineEvent {
+
+    public static final String INIT = "INIT";
+    public static final String HEARTBEAT = "HEARTBEAT";
+    public static final String FILE_PROCESSED = "FILE_PROCESSED";
+    // Published by the manager itself when it sees an instance change status; never accepted from apps
+    public static final String STATUS_CHANGE = "STATUS_CHANGE";
+
+    private String app;
+    private String stage;
+    private String event;
+    private String instanceId;
+    private Long timestamp;
+    private String status;
+    private String url;
+    private String hostname;
+    private String currentFile;
+    private String filename;
+    private Long filesProcessed;
+    private Long filesTotal;
+    private Long processedChunks;
+    private Long totalChunks;
+    private Double processingRate;
+    private Long errorCount;
+    private Double memoryUsedMB;
+    private Long pendingMessages;
+
+    public String getApp() { return app; }
+    public void setApp(String app) { this.app = app; }
+    public String getStage() { return stage; }
+    public void setStage(String stage) { this.stage = stage; }
+    public String getEvent() { return event; }
+    public void setEvent(String event) { this.event = event; }
+    public String getInstanceId() { return instanceId; }
+    public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+    public Long getTimestamp() { return timestamp; }
+    public void setTimestamp(Long timestamp) { this.timestamp = timestamp; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getHostname() { return hostname; }
+    public void setHostname(String hostname) { this.hostname = hostname; }
+    public String getCurrentFile() { return currentFile; }
+    public void setCurrentFile(String currentFile) { this.currentFile = currentFile; }
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+    public Long getFilesProcessed() { return filesProcessed; }
+    public void setFilesProcessed(Long filesProcessed) { this.filesProcessed = filesProcessed; }
+    public Long getFilesTotal() { return filesTotal; }
+    public void setFilesTotal(Long filesTotal) { this.filesTotal = filesTotal; }
+    public Long getProcessedChunks() { return processedChunks; }
+    public void setProcessedChunks(Long processedChunks) { this.processedChunks = processedChunks; }
+    public Long getTotalChunks() { return totalChunks; }
+    public void setTotalChunks(Long totalChunks) { this.totalChunks = totalChunks; }
+    public Double getProcessingRate() { return processingRate; }
+    public void setProcessingRate(Double processingRate) { this.processingRate = processingRate; }
+    public Long getErrorCount() { return errorCount; }
+    public void setErrorCount(Long errorCount) { this.errorCount = errorCount; }
+    public Double getMemoryUsedMB() { return memoryUsedMB; }
+    public void setMemoryUsedMB(Double memoryUsedMB) { this.memoryUsedMB = memoryUsedMB; }
+    public Long getPendingMessages() { return pendingMessages; }
+    public void setPendingMessages(Long pendingMessages) { this.pendingMessages = pendingMessages; }
+}
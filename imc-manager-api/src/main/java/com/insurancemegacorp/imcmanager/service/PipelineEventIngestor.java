@@ -0,0 +1,120 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Takes the pipeline apps' INIT/HEARTBEAT/FILE_PROCESSED events (pushed to /api/events, by the
+// apps or by a bridge from the broker), attributes each one to a registered instance of a
+// catalog service, folds it into that instance's live state and hands status changes on to
+// the registry. Events are also relayed on the dashboard event stream.
+@Service
+public class PipelineEventIngestor {
+
+    public enum Outcome { ACCEPTED, UNMATCHED, INVALID }
+
+    private static final Set<String> EVENT_TYPES =
+        Set.of(PipelineEvent.INIT, PipelineEvent.HEARTBEAT, PipelineEvent.FILE_PROCESSED);
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private DiscoveryCache discoveryCache;
+
+    @Autowired
+    private LiveStatusStore liveStatusStore;
+
+    @Autowired
+    private ServiceRegistryService serviceRegistryService;
+
+    @Autowired
+    private EventHub eventHub;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public Outcome ingest(PipelineEvent event) {
+        ServiceCatalog.ServiceDefinition service = event != null ? serviceCatalog.find(event.getApp()) : null;
+        if (service == null || !isKnownType(event)) {
+            count(service != null ? service.getName() : "unknown", event, Outcome.INVALID);
+            return Outcome.INVALID;
+        }
+        DiscoveryCache.CachedInstance instance = resolveInstance(service.getName(), event);
+        if (instance == null) {
+            count(service.getName(), event, Outcome.UNMATCHED);
+            return Outcome.UNMATCHED;
+        }
+
+        // Only events that state a status, or change it, reach the registry
+        liveStatusStore.apply(service.getName(), instance.getInstanceId(), instance.getUrl(), event,
+            state -> serviceRegistryService.recordLiveStatus(service.getName(),
+                new ServiceRegistryService.InstanceStatus(
+                    instance.getInstanceId(),
+                    instance.getUrl(),
+                    state.getStatus(),
+                    new Date(state.getLastEventAt()),
+                    state.getProcessingRate(),
+                    state.getFilesProcessed()
+                )));
+        relay(service.getName(), instance.getInstanceId(), event);
+        count(service.getName(), event, Outcome.ACCEPTED);
+        return Outcome.ACCEPTED;
+    }
+
+    // By instance id, then by the URL the app reports; a service with a single registered
+    // instance takes events that name neither
+    private DiscoveryCache.CachedInstance resolveInstance(String serviceName, PipelineEvent event) {
+        List<DiscoveryCache.CachedInstance> instances = discoveryCache.getInstances(serviceName);
+        if (event.getInstanceId() != null) {
+            for (DiscoveryCache.CachedInstance instance : instances) {
+                if (event.getInstanceId().equals(instance.getInstanceId())) {
+                    return instance;
+                }
+            }
+        }
+        if (event.getUrl() != null) {
+            DiscoveryCache.CachedInstance byUrl = discoveryCache.findByUrl(event.getUrl());
+            if (byUrl != null && serviceName.equals(byUrl.getServiceName())) {
+                return byUrl;
+            }
+        }
+        return instances.size() == 1 && event.getInstanceId() == null && event.getUrl() == null
+            ? instances.get(0) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void relay(String serviceName, String instanceId, PipelineEvent event) {
+        Map<String, Object> relayed = objectMapper.convertValue(event, Map.class);
+        relayed.put("app", serviceName);
+        relayed.put("instanceId", instanceId);
+        relayed.putIfAbsent("timestamp", System.currentTimeMillis());
+        // Only the latest heartbeat per instance matters to a client that is behind
+        eventHub.publish(PipelineEvent.HEARTBEAT.equals(event.getEvent())
+            ? "live:" + LiveStatusStore.key(serviceName, instanceId) : null, relayed);
+    }
+
+    private static boolean isKnownType(PipelineEvent event) {
+        return event.getEvent() != null && EVENT_TYPES.contains(event.getEvent());
+    }
+
+    private void count(String serviceName, PipelineEvent event, Outcome outcome) {
+        Counter.builder("imc.events.received")
+            .description("Pipeline app events received for live status")
+            .tag("service", serviceName)
+            .tag("type", event != null && isKnownType(event) ? event.getEvent() : "other")
+            .tag("outcome", outcome.name())
+            .register(meterRegistry)
+            .increment();
+    }
+}
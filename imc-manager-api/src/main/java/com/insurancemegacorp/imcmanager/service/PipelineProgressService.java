@@ -0,0 +1,344 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// End-to-end progress of the RAG pipeline. Every sample reads each stage's counters from all of
+// its instances at once (from the instance's own events while they are fresh, otherwise from its
+// processed endpoint where that answers with a file array or counts, otherwise from its state
+// endpoint), keeps files and chunks
+// per stage in a rolling window, and derives per-stage backlog, the bottleneck stage and an ETA.
+// Stages are the catalog's rag services in order.
+@Service
+public class PipelineProgressService {
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private DiscoveryCache discoveryCache;
+
+    @Autowired
+    private LiveStatusStore liveStatusStore;
+
+    @Autowired
+    private FileCatalogService fileCatalogService;
+
+    @Autowired
+    private UpstreamGateway upstreamGateway;
+
+    @Value("${imc-manager.progress.sample-seconds:10}")
+    private long sampleSeconds;
+
+    // Rates are taken over this window
+    @Value("${imc-manager.progress.window-seconds:300}")
+    private long windowSeconds;
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, StageWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<Map<String, Object>>> sampling = new AtomicReference<>();
+    private volatile Map<String, Object> progress;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        // Sampled whether or not anyone is watching, so the window is full when someone looks
+        sampler.scheduleWithFixedDelay(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                // Keep the last progress; the next sample retries
+            }
+        }, sampleSeconds, sampleSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> current = progress;
+        return current != null ? current : sample().join();
+    }
+
+    // Concurrent callers share one sample
+    private CompletableFuture<Map<String, Object>> sample() {
+        CompletableFuture<Map<String, Object>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = sampling.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+        try {
+            Map<String, Object> next = load();
+            progress = next;
+            mine.complete(next);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            sampling.set(null);
+        }
+        return mine;
+    }
+
+    private Map<String, Object> load() {
+        List<ServiceCatalog.ServiceDefinition> stages = serviceCatalog.getServices(ServiceCatalog.RAG_PIPELINE);
+        Map<String, Map<String, CompletableFuture<Counters>>> pending = new LinkedHashMap<>();
+        for (ServiceCatalog.ServiceDefinition stage : stages) {
+            Map<String, CompletableFuture<Counters>> reads = new LinkedHashMap<>();
+            for (DiscoveryCache.CachedInstance instance : discoveryCache.getInstances(stage.getName())) {
+                reads.put(instance.getInstanceId(), readCounters(stage, instance));
+            }
+            pending.put(stage.getName(), reads);
+        }
+
+        long now = System.currentTimeMillis();
+        long windowMs = TimeUnit.SECONDS.toMillis(windowSeconds);
+        List<StageProgress> results = new ArrayList<>(stages.size());
+        for (ServiceCatalog.ServiceDefinition stage : stages) {
+            // Every instance of the first stage watches the same source and reports the same files,
+            // so the highest count any of them knows stands for the stage; later stages split the
+            // work between instances and are added up
+            boolean first = stage == stages.get(0);
+            Map<String, CompletableFuture<Counters>> reads = pending.get(stage.getName());
+            StageWindow window = windows.computeIfAbsent(stage.getName(), name -> new StageWindow(windowCapacity()));
+            Map<String, Counters> latest = new HashMap<>();
+            Counters sum = first ? Counters.UNKNOWN : Counters.ZERO;
+            int reporting = 0;
+            String error = reads.isEmpty() ? "No registered instances" : null;
+            for (Map.Entry<String, CompletableFuture<Counters>> read : reads.entrySet()) {
+                // An instance that did not answer, or left a counter out, counts with its last known value
+                Counters previous = window.lastByInstance.get(read.getKey());
+                Counters counters = previous;
+                try {
+                    counters = read.getValue().join().orElse(previous);
+                    reporting++;
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    error = cause.getMessage();
+                }
+                if (counters != null) {
+                    latest.put(read.getKey(), counters);
+                }
+                Counters known = counters != null ? counters : Counters.UNKNOWN;
+                sum = first ? sum.max(known) : sum.plus(known);
+            }
+            // Instances that left the registry drop out
+            window.lastByInstance = latest;
+            // A stage that did not answer at all keeps its last counts rather than dropping to zero,
+            // and a sum with any instance's counter still unknown is not sampled
+            if (reporting > 0) {
+                if (sum.filesProcessed != null) window.files.add(now, sum.filesProcessed);
+                if (sum.chunksProcessed != null) window.chunks.add(now, sum.chunksProcessed);
+                if (sum.filesTotal != null) window.filesTotal = sum.filesTotal;
+            }
+            results.add(new StageProgress(stage, window, reporting, reads.size(), error, windowMs));
+        }
+        return summarize(results, now);
+    }
+
+    private CompletableFuture<Counters> readCounters(ServiceCatalog.ServiceDefinition stage,
+                                                     DiscoveryCache.CachedInstance instance) {
+        if (liveStatusStore.isFresh(stage.getName(), instance.getInstanceId())) {
+            LiveStatusStore.LiveState live = liveStatusStore.get(stage.getName(), instance.getInstanceId());
+            if (live != null && live.getFilesProcessed() != null) {
+                return CompletableFuture.completedFuture(new Counters(
+                    live.getFilesProcessed(), live.getFilesTotal(), live.getProcessedChunks()));
+            }
+        }
+        String processedPath = stage.getEndpoint("processed");
+        if (processedPath != null && stage.getProcessedFormat() != ServiceCatalog.ProcessedFormat.FILE_LISTING) {
+            return CompletableFuture.supplyAsync(() -> upstreamGateway.read(instance.getUrl() + processedPath,
+                UpstreamGateway.CallProfile.READ, UpstreamPayloads::readProcessedCounters), fetchExecutor);
+        }
+        String statePath = stage.getEndpoint("state");
+        if (statePath == null) {
+            return CompletableFuture.failedFuture(
+                new IllegalStateException(stage.getName() + " has no processed or state endpoint in the catalog"));
+        }
+        return CompletableFuture.supplyAsync(() -> upstreamGateway.read(instance.getUrl() + statePath,
+            UpstreamGateway.CallProfile.READ, UpstreamPayloads::readProgressCounters), fetchExecutor);
+    }
+
+    // Each stage still has to process every file it has not processed yet; the pipeline is done
+    // when the slowest of those finishes, and that stage is the bottleneck
+    private Map<String, Object> summarize(List<StageProgress> stages, long now) {
+        long totalFiles = fileCatalogService.isSynced() ? fileCatalogService.getFileCount() : 0;
+        if (!stages.isEmpty()) {
+            StageProgress first = stages.get(0);
+            totalFiles = Math.max(totalFiles, Math.max(first.window.filesTotal, first.filesProcessed));
+        }
+
+        List<Map<String, Object>> stageBodies = new ArrayList<>(stages.size());
+        String bottleneck = null;
+        double slowestSeconds = 0;
+        boolean stalled = false;
+        boolean measuring = false;
+        long upstreamProcessed = totalFiles;
+        for (StageProgress stage : stages) {
+            long remaining = Math.max(0, totalFiles - stage.filesProcessed);
+            if (remaining > 0 && !stage.measured) {
+                measuring = true;
+            } else if (remaining > 0 && stage.filesPerMinute <= 0) {
+                // A stage with work left and no throughput holds everything up
+                if (!stalled) bottleneck = stage.name;
+                stalled = true;
+            } else if (remaining > 0 && !stalled) {
+                double etaSeconds = remaining * 60.0 / stage.filesPerMinute;
+                if (etaSeconds > slowestSeconds) {
+                    slowestSeconds = etaSeconds;
+                    bottleneck = stage.name;
+                }
+            }
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("name", stage.name);
+            body.put("displayName", stage.displayName);
+            body.put("filesProcessed", stage.filesProcessed);
+            // Chunk counters stay null while a stage's instances do not report chunks
+            body.put("chunksProcessed", stage.chunksProcessed);
+            body.put("backlog", Math.max(0, upstreamProcessed - stage.filesProcessed));
+            body.put("filesPerMinute", round(stage.filesPerMinute));
+            body.put("chunksPerMinute", stage.chunksProcessed != null ? round(stage.chunksPerMinute) : null);
+            body.put("instances", stage.instances);
+            body.put("reporting", stage.reporting);
+            if (stage.error != null) body.put("error", stage.error);
+            stageBodies.add(body);
+            upstreamProcessed = stage.filesProcessed;
+        }
+
+        long complete = stages.isEmpty() ? 0 : stages.get(stages.size() - 1).filesProcessed;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("totalFiles", totalFiles);
+        body.put("completeFiles", complete);
+        body.put("percentComplete", totalFiles > 0 ? round(Math.min(100.0, complete * 100.0 / totalFiles)) : 0.0);
+        body.put("stages", stageBodies);
+        body.put("bottleneck", bottleneck);
+        // No ETA while a stage with work left has too few samples for a rate, or makes no progress
+        body.put("etaSeconds", stalled || measuring || bottleneck == null ? null : Math.round(slowestSeconds));
+        body.put("stalled", stalled);
+        body.put("windowSeconds", windowSeconds);
+        body.put("sampledAt", now);
+        return body;
+    }
+
+    private int windowCapacity() {
+        return (int) Math.max(2, windowSeconds / Math.max(1, sampleSeconds) + 1);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    // Progress counters of one instance, or summed over a stage; null where the count is unknown
+    public static final class Counters {
+        static final Counters ZERO = new Counters(0L, 0L, 0L);
+        static final Counters UNKNOWN = new Counters(null, null, null);
+
+        private final Long filesProcessed;
+        private final Long filesTotal;
+        private final Long chunksProcessed;
+
+        public Counters(Long filesProcessed, Long filesTotal, Long chunksProcessed) {
+            this.filesProcessed = filesProcessed;
+            this.filesTotal = filesTotal;
+            this.chunksProcessed = chunksProcessed;
+        }
+
+        // A sum is unknown as soon as one of its parts is
+        Counters plus(Counters other) {
+            return new Counters(sum(filesProcessed, other.filesProcessed), sum(filesTotal, other.filesTotal),
+                sum(chunksProcessed, other.chunksProcessed));
+        }
+
+        // A maximum is unknown only if every part is
+        Counters max(Counters other) {
+            return new Counters(max(filesProcessed, other.filesProcessed), max(filesTotal, other.filesTotal),
+                max(chunksProcessed, other.chunksProcessed));
+        }
+
+        // Unknown counters taken from an earlier reading of the same instance, if there is one
+        Counters orElse(Counters previous) {
+            if (previous == null) return this;
+            return new Counters(
+                filesProcessed != null ? filesProcessed : previous.filesProcessed,
+                filesTotal != null ? filesTotal : previous.filesTotal,
+                chunksProcessed != null ? chunksProcessed : previous.chunksProcessed);
+        }
+
+        private static Long sum(Long a, Long b) {
+            return a != null && b != null ? a + b : null;
+        }
+
+        private static Long max(Long a, Long b) {
+            if (a == null) return b;
+            return b != null ? Math.max(a, b) : a;
+        }
+
+        public Long getFilesProcessed() { return filesProcessed; }
+        public Long getFilesTotal() { return filesTotal; }
+        public Long getChunksProcessed() { return chunksProcessed; }
+    }
+
+    // Rolling counter samples of one stage
+    private static final class StageWindow {
+        private final RingSeries files;
+        private final RingSeries chunks;
+        private volatile long filesTotal;
+        // Last counters of each registered instance; replaced whole by the sampler thread
+        private volatile Map<String, Counters> lastByInstance = Map.of();
+
+        StageWindow(int capacity) {
+            this.files = new RingSeries(capacity);
+            this.chunks = new RingSeries(capacity);
+        }
+    }
+
+    private static final class StageProgress {
+        private final String name;
+        private final String displayName;
+        private final StageWindow window;
+        private final long filesProcessed;
+        private final Long chunksProcessed;
+        private final double filesPerMinute;
+        private final double chunksPerMinute;
+        private final boolean measured;
+        private final int reporting;
+        private final int instances;
+        private final String error;
+
+        StageProgress(ServiceCatalog.ServiceDefinition stage, StageWindow window, int reporting, int instances,
+                      String error, long windowMs) {
+            this.name = stage.getName();
+            this.displayName = stage.getDisplayName();
+            this.window = window;
+            this.filesProcessed = window.files.size() > 0 ? (long) window.files.latest() : 0;
+            this.chunksProcessed = window.chunks.size() > 0 ? (long) window.chunks.latest() : null;
+            this.filesPerMinute = window.files.ratePerSecond(windowMs) * 60.0;
+            this.chunksPerMinute = window.chunks.ratePerSecond(windowMs) * 60.0;
+            this.measured = window.files.size() > 1;
+            this.reporting = reporting;
+            this.instances = instances;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs the pipeline restart as a dependency graph of steps, built from the catalog's rag services:
+// every service is stopped in parallel, and each service's clear or reset endpoint is called as
+// soon as that service has stopped. Jobs run in the background and
+// their progress is kept for polling and published on the event stream.
+@Service
+public class PipelineRestartOrchestrator {
+
+    // Event type of restart job and step progress on the event stream
+    public static final String RESTART_EVENT = "RESTART_PROGRESS";
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private ServiceRegistryService serviceRegistryService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private FileCatalogService fileCatalogService;
+
+    @Autowired
+    private EventHub eventHub;
+
+    @Value("${imc-manager.restart.step-deadline-ms:15000}")
+    private long stepDeadlineMs;
+
+    @Value("${imc-manager.restart.step-retries:2}")
+    private int stepRetries;
+
+    @Value("${imc-manager.restart.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${imc-manager.restart.retained-jobs:20}")
+    private int retainedJobs;
+
+    private final ExecutorService stepExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, RestartJob> jobs = new LinkedHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        stepExecutor.shutdownNow();
+    }
+
+    public RestartJob startRestart() {
+        RestartJob job = new RestartJob(UUID.randomUUID().toString());
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+            while (jobs.size() > retainedJobs) {
+                Iterator<String> oldest = jobs.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+
+        Map<String, CompletableFuture<StepState>> futures = new HashMap<>();
+        List<StepDefinition> plan = buildPlan();
+        for (StepDefinition definition : plan) {
+            job.steps.add(new RestartStep(definition.id, definition.description, definition.dependsOn));
+        }
+        for (StepDefinition definition : plan) {
+            RestartStep step = job.getStep(definition.id);
+            CompletableFuture<?>[] dependencies = definition.dependsOn.stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture<StepState> future = CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(ignored -> runStep(job, step, definition, dependencies), stepExecutor);
+            futures.put(definition.id, future);
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) -> finish(job));
+        return job;
+    }
+
+    public RestartJob getJob(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    private List<StepDefinition> buildPlan() {
+        List<ServiceCatalog.ServiceDefinition> services = serviceCatalog.getServices(ServiceCatalog.RAG_PIPELINE);
+        List<StepDefinition> plan = new ArrayList<>();
+        for (ServiceCatalog.ServiceDefinition service : services) {
+            String serviceName = service.getName();
+            plan.add(new StepDefinition("stop-" + serviceName, "Stop " + serviceName, List.of(),
+                () -> {
+                    if (serviceRegistryService.getServiceUrl(serviceName) == null) {
+                        return null;
+                    }
+                    requireAllSucceeded("Stop " + serviceName, serviceRegistryService.stopService(serviceName));
+                    return "Stopped " + serviceName;
+                }));
+        }
+        // A service's files are cleared where it can, otherwise its processing or counters are reset
+        for (ServiceCatalog.ServiceDefinition service : services) {
+            String serviceName = service.getName();
+            String id;
+            String description;
+            String path;
+            if (service.getEndpoint("clear") != null) {
+                id = "clear-" + serviceName;
+                description = "Clear " + service.getDisplayName() + " files";
+                path = service.getEndpoint("clear");
+            } else if (service.getEndpoint("reset") != null) {
+                id = "reset-" + serviceName;
+                description = "Reset " + service.getDisplayName() + " processing";
+                path = service.getEndpoint("reset");
+            } else if (service.getEndpoint("resetCounters") != null) {
+                id = "reset-" + serviceName;
+                description = "Reset " + service.getDisplayName() + " processing counters";
+                path = service.getEndpoint("resetCounters");
+            } else {
+                continue;
+            }
+            plan.add(new StepDefinition(id, description, List.of("stop-" + serviceName),
+                () -> post(serviceName, path, description)));
+        }
+        return plan;
+    }
+
+    // Every instance is reset, as every instance was stopped
+    private String post(String serviceName, String path, String successMessage) {
+        List<ServiceRegistryService.ControlResult> results =
+            serviceRegistryService.postToInstances(serviceName, null, "reset", path);
+        if (results.isEmpty()) {
+            return null;
+        }
+        requireAllSucceeded(successMessage, results);
+        return successMessage + " on " + results.size() + (results.size() == 1 ? " instance" : " instances");
+    }
+
+    // Fails the step with the first failing instance and its cause; the step retry runs it again
+    private static void requireAllSucceeded(String description, List<ServiceRegistryService.ControlResult> results) {
+        if (ServiceRegistryService.allSucceeded(results)) {
+            return;
+        }
+        ServiceRegistryService.ControlResult failed = results.stream()
+            .filter(result -> !"SUCCEEDED".equals(result.getOutcome()))
+            .findFirst()
+            .orElse(null);
+        throw new IllegalStateException(description + " failed"
+            + (failed != null ? " on " + failed.getInstanceId() + ": " + failed.getMessage() : ": no registered instance"));
+    }
+
+    private StepState runStep(RestartJob job, RestartStep step, StepDefinition definition,
+                              CompletableFuture<?>[] dependencies) {
+        for (CompletableFuture<?> dependency : dependencies) {
+            if (dependency.join() != StepState.SUCCEEDED) {
+                return transition(job, step, StepState.SKIPPED, "Skipped because a prerequisite step did not succeed");
+            }
+        }
+
+        String lastError = null;
+        for (int attempt = 1; attempt <= stepRetries + 1; attempt++) {
+            step.attempts = attempt;
+            transition(job, step, StepState.RUNNING, attempt > 1 ? "Retry " + (attempt - 1) + ": " + lastError : null);
+            Future<String> call = stepExecutor.submit(definition.action);
+            try {
+                String result = call.get(stepDeadlineMs, TimeUnit.MILLISECONDS);
+                // A null result means the service is not registered, so there was nothing to do
+                return result != null
+                    ? transition(job, step, StepState.SUCCEEDED, result)
+                    : transition(job, step, StepState.SKIPPED, "Service not registered");
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                lastError = "Timed out after " + stepDeadlineMs + " ms";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return transition(job, step, StepState.FAILED, "Interrupted");
+            } catch (Exception e) {
+                lastError = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            }
+            if (attempt <= stepRetries) {
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return transition(job, step, StepState.FAILED, "Interrupted");
+                }
+            }
+        }
+        return transition(job, step, StepState.FAILED, definition.description + " failed: " + lastError);
+    }
+
+    private StepState transition(RestartJob job, RestartStep step, StepState state, String message) {
+        synchronized (job) {
+            step.state = state;
+            step.message = message;
+            if (state == StepState.RUNNING && step.startedAt == null) {
+                step.startedAt = new Date();
+            } else if (state != StepState.RUNNING) {
+                step.finishedAt = new Date();
+            }
+        }
+        publish(job, step.getId(), state.name(), message);
+        return state;
+    }
+
+    private void finish(RestartJob job) {
+        responseCache.invalidateAll();
+        fileCatalogService.requestSync();
+        synchronized (job) {
+            boolean anyFailed = job.steps.stream().anyMatch(s -> s.state == StepState.FAILED);
+            job.status = anyFailed ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+            job.finishedAt = new Date();
+        }
+        publish(job, null, job.status, "Pipeline restart " + job.status.toLowerCase(Locale.ROOT).replace('_', ' '));
+    }
+
+    private void publish(RestartJob job, String stepId, String status, String message) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("app", "imc-manager");
+        event.put("stage", "restart-pipeline");
+        event.put("event", RESTART_EVENT);
+        event.put("jobId", job.getJobId());
+        // Absent for the job's own completion event
+        event.put("stepId", stepId);
+        event.put("status", status);
+        event.put("message", message);
+        event.put("timestamp", System.currentTimeMillis());
+        eventHub.publish("restart:" + job.getJobId() + ":" + (stepId != null ? stepId : "job"), event);
+    }
+
+    public enum StepState { PENDING, RUNNING, SUCCEEDED, FAILED, SKIPPED }
+
+    private static class StepDefinition {
+        private final String id;
+        private final String description;
+        private final List<String> dependsOn;
+        private final Callable<String> action;
+
+        StepDefinition(String id, String description, List<String> dependsOn,
+                       Callable<String> action) {
+            this.id = id;
+            this.description = description;
+            this.dependsOn = dependsOn;
+            this.action = action;
+        }
+    }
+
+    public static class RestartJob {
+        private final String jobId;
+        private final Date startedAt = new Date();
+        private final List<RestartStep> steps = new ArrayList<>();
+        private volatile String status = "RUNNING";
+        private volatile Date finishedAt;
+
+        RestartJob(String jobId) {
+            this.jobId = jobId;
+        }
+
+        RestartStep getStep(String stepId) {
+            for (RestartStep step : steps) {
+                if (step.getId().equals(stepId)) return step;
+            }
+            return null;
+        }
+
+        public String getJobId() { return jobId; }
+        public String getStatus() { return status; }
+        public Date getStartedAt() { return startedAt; }
+        public Date getFinishedAt() { return finishedAt; }
+        public synchronized List<RestartStep> getSteps() { return List.copyOf(steps); }
+
+        // Flattened the way the synchronous restart endpoint used to report them
+        public synchronized List<String> getResults() {
+            List<String> results = new ArrayList<>();
+            for (RestartStep step : steps) {
+                if (step.state == StepState.SUCCEEDED) results.add(step.message);
+            }
+            return results;
+        }
+
+        public synchronized List<String> getErrors() {
+            List<String> errors = new ArrayList<>();
+            for (RestartStep step : steps) {
+                if (step.state == StepState.FAILED) errors.add(step.message);
+            }
+            return errors;
+        }
+    }
+
+    public static class RestartStep {
+        private final String id;
+        private final String description;
+        private final List<String> dependsOn;
+        private volatile StepState state = StepState.PENDING;
+        private volatile String message;
+        private volatile int attempts;
+        private volatile Date startedAt;
+        private volatile Date finishedAt;
+
+        RestartStep(String id, String description, List<String> dependsOn) {
+            this.id = id;
+            this.description = description;
+            this.dependsOn = dependsOn;
+        }
+
+        public String getId() { return id; }
+        public String getDescription() { return description; }
+        public List<String> getDependsOn() { return dependsOn; }
+        public StepState getState() { return state; }
+        public String getMessage() { return message; }
+        public int getAttempts() { return attempts; }
+        public Date getStartedAt() { return startedAt; }
+        public Date getFinishedAt() { return finishedAt; }
+    }
+}
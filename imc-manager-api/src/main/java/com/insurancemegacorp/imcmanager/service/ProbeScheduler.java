@@ -0,0 +1,162 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Hashed timing wheel that runs each registered key periodically on its own interval. A key's
+// first run lands at a random point inside its interval and every later run is jittered, so
+// hundreds of instances spread across the wheel instead of all firing on the same tick.
+// Scheduling and cancelling are O(1) from any thread; the wheel thread only dispatches, so
+// tasks must hand real work off (the probe engine runs each probe on its own virtual thread).
+@Component
+public class ProbeScheduler {
+
+    private final long tickNanos;
+    private final double jitter;
+    // Each slot is touched only by the wheel thread; other threads go through additions
+    private final List<Entry>[] wheel;
+    private final Queue<Entry> additions = new ConcurrentLinkedQueue<>();
+    private final Map<String, Entry> scheduled = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread worker;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public ProbeScheduler(@Value("${imc-manager.probe.wheel.tick-ms:100}") long tickMs,
+                          @Value("${imc-manager.probe.wheel.slots:512}") int slots,
+                          @Value("${imc-manager.probe.jitter:0.2}") double jitter,
+                          MeterRegistry meterRegistry) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.jitter = Math.max(0.0, Math.min(jitter, 1.0));
+        this.wheel = new List[Math.max(1, slots)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        Gauge.builder("imc.probe.scheduled", scheduled, Map::size)
+            .description("Instances with a periodic health probe on the timing wheel")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("probe-wheel").daemon(true).start(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    // Replaces any task already scheduled under the key
+    public void schedule(String key, long intervalMs, Runnable task) {
+        Entry entry = new Entry(Math.max(1, intervalMs), task);
+        // The first run is spread uniformly over one interval
+        entry.delayMs = ThreadLocalRandom.current().nextLong(entry.intervalMs);
+        Entry previous = scheduled.put(key, entry);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        additions.add(entry);
+    }
+
+    // Cancelled entries are dropped lazily when the wheel reaches their slot
+    public void cancel(String key) {
+        Entry entry = scheduled.remove(key);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    public boolean isScheduled(String key) {
+        return scheduled.containsKey(key);
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long wait;
+            while (running && (wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            tick++;
+            transferAdditions();
+            expire(wheel[(int) (tick % wheel.length)]);
+        }
+    }
+
+    private void transferAdditions() {
+        Entry entry;
+        while ((entry = additions.poll()) != null) {
+            if (!entry.cancelled) {
+                place(entry);
+            }
+        }
+    }
+
+    private void expire(List<Entry> slot) {
+        List<Entry> due = null;
+        for (Iterator<Entry> it = slot.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.cancelled) {
+                it.remove();
+            } else if (entry.deadlineTick <= tick) {
+                // Entries further out stay put and are looked at again on a later rotation
+                it.remove();
+                if (due == null) due = new ArrayList<>();
+                due.add(entry);
+            }
+        }
+        if (due == null) return;
+
+        for (Entry entry : due) {
+            try {
+                entry.task.run();
+            } catch (RuntimeException e) {
+                // A failing task keeps its schedule; the next run may succeed
+            }
+            if (!entry.cancelled) {
+                double spread = jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+                entry.delayMs = Math.max(1, Math.round(entry.intervalMs * (1 + spread)));
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        long ticks = Math.max(1, TimeUnit.MILLISECONDS.toNanos(entry.delayMs) / tickNanos);
+        entry.deadlineTick = tick + ticks;
+        wheel[(int) (entry.deadlineTick % wheel.length)].add(entry);
+    }
+
+    private static class Entry {
+        private final long intervalMs;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        // Written before the entry is queued or by the wheel thread; read only by the wheel thread
+        private long delayMs;
+        private long deadlineTick;
+
+        Entry(long intervalMs, Runnable task) {
+            this.intervalMs = intervalMs;
+            this.task = task;
+        }
+    }
+}
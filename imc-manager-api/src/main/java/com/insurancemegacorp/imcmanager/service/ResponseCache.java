@@ -0,0 +1,106 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Read-through cache for upstream-backed reads. Concurrent misses for the same key share one
+// load; entries expire after their TTL and the cache never holds more than max-entries keys.
+@Component
+public class ResponseCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public ResponseCache(@Value("${imc-manager.cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, long ttlMs, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        Entry current = entries.get(key);
+        if (current != null && current.expiresAt > now) {
+            return (T) await(current);
+        }
+
+        Entry fresh = new Entry();
+        Entry winner = entries.compute(key, (k, existing) ->
+            existing != null && existing.expiresAt > now ? existing : fresh);
+        if (winner != fresh) {
+            return (T) await(winner);
+        }
+        evictIfFull();
+
+        try {
+            T value = loader.get();
+            fresh.expiresAt = System.currentTimeMillis() + ttlMs;
+            fresh.value.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Drops every entry for the service, e.g. after a start/stop/reset
+    public void invalidate(String serviceName) {
+        entries.keySet().removeIf(key -> key.endsWith(":" + serviceName));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public static String key(String endpoint, String serviceName) {
+        return endpoint + ":" + serviceName;
+    }
+
+    // One instance's answer; still ends with the service name so invalidate(serviceName) drops it
+    public static String key(String endpoint, String serviceName, String instanceId) {
+        return instanceId == null ? key(endpoint, serviceName) : endpoint + "@" + instanceId + ":" + serviceName;
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) return;
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        // Still full: drop the entries closest to expiry (in-flight loads are never chosen)
+        while (entries.size() > maxEntries) {
+            String oldestKey = null;
+            long oldestExpiry = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (candidate.getValue().expiresAt < oldestExpiry) {
+                    oldestExpiry = candidate.getValue().expiresAt;
+                    oldestKey = candidate.getKey();
+                }
+            }
+            if (oldestKey == null) return;
+            entries.remove(oldestKey);
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        // Loads in flight never expire, so waiters always join them instead of starting another
+        private volatile long expiresAt = Long.MAX_VALUE;
+    }
+}
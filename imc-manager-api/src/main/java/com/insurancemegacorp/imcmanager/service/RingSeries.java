@@ -0,0 +1,85 @@
+package com.insurancemegacorp.imcmanager.service;
+
+// Fixed-capacity time series over primitive arrays; the oldest sample is overwritten when full
+public class RingSeries {
+
+    private final long[] timestamps;
+    private final double[] values;
+    private int head;
+    private int count;
+
+    public RingSeries(int capacity) {
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public synchronized void add(long timestampMs, double value) {
+        timestamps[head] = timestampMs;
+        values[head] = value;
+        head = (head + 1) % values.length;
+        if (count < values.length) count++;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized double latest() {
+        return count == 0 ? Double.NaN : values[index(0)];
+    }
+
+    public synchronized long latestTimestamp() {
+        return count == 0 ? 0L : timestamps[index(0)];
+    }
+
+    // Mean of the samples taken within windowMs of the latest sample
+    public synchronized double average(long windowMs) {
+        if (count == 0) return Double.NaN;
+        long cutoff = timestamps[index(0)] - windowMs;
+        double sum = 0;
+        int n = 0;
+        for (int i = 0; i < count && timestamps[index(i)] >= cutoff; i++) {
+            sum += values[index(i)];
+            n++;
+        }
+        return sum / n;
+    }
+
+    // Per-second rate of change of a monotonically increasing counter over windowMs
+    public synchronized double ratePerSecond(long windowMs) {
+        if (count < 2) return 0.0;
+        int newest = index(0);
+        long cutoff = timestamps[newest] - windowMs;
+        int oldest = newest;
+        for (int i = 1; i < count && timestamps[index(i)] >= cutoff; i++) {
+            oldest = index(i);
+        }
+        long elapsed = timestamps[newest] - timestamps[oldest];
+        if (elapsed <= 0) return 0.0;
+        // A counter that went backwards was reset upstream; report no progress rather than a negative rate
+        return Math.max(0.0, values[newest] - values[oldest]) * 1000.0 / elapsed;
+    }
+
+    // Most recent samples, oldest first, bucketed down to at most points values
+    public synchronized double[] sparkline(int points) {
+        int n = Math.min(points, count);
+        double[] line = new double[n];
+        if (n == 0) return line;
+        int bucket = count / n;
+        for (int p = 0; p < n; p++) {
+            // Bucket p covers samples [start, start + bucket) counted back from the newest
+            int start = (n - 1 - p) * bucket;
+            double sum = 0;
+            for (int i = 0; i < bucket; i++) {
+                sum += values[index(start + i)];
+            }
+            line[p] = sum / bucket;
+        }
+        return line;
+    }
+
+    // Physical slot of the sample that is back samples older than the newest
+    private int index(int back) {
+        return Math.floorMod(head - 1 - back, values.length);
+    }
+}
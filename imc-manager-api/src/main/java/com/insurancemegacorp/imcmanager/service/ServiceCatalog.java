@@ -0,0 +1,127 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// The services the manager looks after, read once at startup from a JSON catalog (by default
+// config/services.json on the classpath). Each entry names the registry service, how it is
+// presented, which pipeline it belongs to, how it is probed and which control endpoints it has,
+// so adding a pipeline means adding catalog entries rather than code.
+@Component
+public class ServiceCatalog {
+
+    public static final String RAG_PIPELINE = "rag";
+
+    public enum ProbeFormat { PROCESSING_STATE, ACTUATOR_HEALTH }
+
+    // Shape of the processed endpoint's answer: a listing already in the dashboard's shape that is
+    // passed through, a bare array of processed files, or an object of counts without a list
+    public enum ProcessedFormat { FILE_LISTING, FILE_ARRAY, FILE_COUNTS }
+
+    private final Map<String, ServiceDefinition> services;
+    private final List<ServiceDefinition> ordered;
+
+    public ServiceCatalog(ObjectMapper objectMapper,
+                          @Value("${imc-manager.services.catalog:classpath:config/services.json}") Resource catalog,
+                          @Value("${imc-manager.probe.interval-seconds:10}") int defaultIntervalSeconds) {
+        List<ServiceDefinition> definitions;
+        try (InputStream in = catalog.getInputStream()) {
+            definitions = objectMapper.readValue(in, new TypeReference<List<ServiceDefinition>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read service catalog " + catalog.getDescription(), e);
+        }
+
+        Map<String, ServiceDefinition> byName = new LinkedHashMap<>();
+        for (ServiceDefinition definition : definitions) {
+            if (definition.getName() == null || definition.getName().isBlank()) {
+                throw new IllegalStateException("Service catalog " + catalog.getDescription() + " has an entry without a name");
+            }
+            // Registry names are matched case-insensitively, like DiscoveryCache does
+            definition.setName(definition.getName().toLowerCase(Locale.ROOT));
+            if (definition.getDisplayName() == null) definition.setDisplayName(definition.getName());
+            if (definition.getEndpoints() == null) definition.setEndpoints(Map.of());
+            if (definition.getProbe() == null) definition.setProbe(new ProbeSpec());
+            if (definition.getProbe().getIntervalSeconds() <= 0) {
+                definition.getProbe().setIntervalSeconds(defaultIntervalSeconds);
+            }
+            if (byName.put(definition.getName(), definition) != null) {
+                throw new IllegalStateException("Service catalog " + catalog.getDescription()
+                    + " lists " + definition.getName() + " more than once");
+            }
+        }
+        this.services = Map.copyOf(byName);
+        this.ordered = List.copyOf(byName.values());
+    }
+
+    public List<ServiceDefinition> getServices() {
+        return ordered;
+    }
+
+    public List<ServiceDefinition> getServices(String pipeline) {
+        return ordered.stream().filter(service -> pipeline.equals(service.getPipeline())).toList();
+    }
+
+    public ServiceDefinition find(String serviceName) {
+        return serviceName != null ? services.get(serviceName.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    public String getDisplayName(String serviceName) {
+        ServiceDefinition definition = find(serviceName);
+        return definition != null ? definition.getDisplayName() : serviceName;
+    }
+
+    public static class ServiceDefinition {
+        private String name;
+        private String displayName;
+        private String description;
+        private String pipeline;
+        private ProbeSpec probe;
+        // Logical endpoint -> path on the instance: state, start and stop; files (the file listing),
+        // processed, reprocess, clear, reset and resetCounters where the service has them
+        private Map<String, String> endpoints;
+        private ProcessedFormat processedFormat = ProcessedFormat.FILE_LISTING;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getDisplayName() { return displayName; }
+        public void setDisplayName(String displayName) { this.displayName = displayName; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public String getPipeline() { return pipeline; }
+        public void setPipeline(String pipeline) { this.pipeline = pipeline; }
+        public ProbeSpec getProbe() { return probe; }
+        public void setProbe(ProbeSpec probe) { this.probe = probe; }
+        public Map<String, String> getEndpoints() { return endpoints; }
+        public void setEndpoints(Map<String, String> endpoints) { this.endpoints = endpoints; }
+        public ProcessedFormat getProcessedFormat() { return processedFormat; }
+        public void setProcessedFormat(ProcessedFormat processedFormat) { this.processedFormat = processedFormat; }
+
+        public String getEndpoint(String endpoint) {
+            return endpoints.get(endpoint);
+        }
+    }
+
+    public static class ProbeSpec {
+        private String path = "/api/processing/state";
+        private ProbeFormat format = ProbeFormat.PROCESSING_STATE;
+        private int intervalSeconds;
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public ProbeFormat getFormat() { return format; }
+        public void setFormat(ProbeFormat format) { this.format = format; }
+        public int getIntervalSeconds() { return intervalSeconds; }
+        public void setIntervalSeconds(int intervalSeconds) { this.intervalSeconds = intervalSeconds; }
+    }
+}
@@ -1,55 +1,212 @@
 package com.insurancemegacorp.imcmanager.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ServiceRegistryService {
 
-    @Autowired
-    private DiscoveryClient discoveryClient;
-    
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final DiscoveryCache discoveryCache;
+    private final HealthProbeEngine healthProbeEngine;
+    private final EventHub eventHub;
+    private final UpstreamGateway upstreamGateway;
+    private final ResponseCache responseCache;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final MeterRegistry meterRegistry;
+    private final StatusHistoryStore statusHistory;
+    private final ServiceCatalog serviceCatalog;
+    private final ProbeScheduler probeScheduler;
+    private final LiveStatusStore liveStatusStore;
+    private final ServiceSnapshotStore snapshotStore;
+    private final long bulkDeadlineMs;
+    private final long reconcileMs;
+    private final long snapshotSaveSeconds;
+    // Restored entries still waiting for their service's first result are dropped after this long
+    private final long snapshotServeSeconds;
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ExecutorService controlExecutor = Executors.newVirtualThreadPerTaskExecutor();
     private final Map<String, ServiceStatus> serviceStatuses = new ConcurrentHashMap<>();
+    // serviceName -> instanceId -> latest probe or control result for that instance
+    private final Map<String, Map<String, InstanceStatus>> instanceStatuses = new ConcurrentHashMap<>();
+    // Content versions: bumped whenever anything the overview reports for a service changes
+    private final AtomicLong contentVersion = new AtomicLong();
+    private final Map<String, Long> serviceVersions = new ConcurrentHashMap<>();
+    private volatile long seenDiscoveryVersion = -1;
+    // probe key (service/instanceId) -> the instance its wheel entry probes
+    private final Map<String, DiscoveryCache.CachedInstance> probedInstances = new ConcurrentHashMap<>();
+    // serviceName -> the entry saved by the previous run, served as stale until the service reports
+    private final Map<String, ServiceInfo> restored = new ConcurrentHashMap<>();
+    private volatile long savedVersion = -1;
     
-    // Service names as they appear in the service registry
-    private static final List<String> RAG_SERVICES = Arrays.asList(
-        "hdfswatcher", "textproc", "embedproc"
-    );
-    
-    public ServiceRegistryService() {
-        // Start health monitoring
+    public ServiceRegistryService(
+            DiscoveryCache discoveryCache,
+            HealthProbeEngine healthProbeEngine,
+            EventHub eventHub,
+            UpstreamGateway upstreamGateway,
+            ResponseCache responseCache,
+            CircuitBreakerRegistry circuitBreakers,
+            MeterRegistry meterRegistry,
+            StatusHistoryStore statusHistory,
+            ServiceCatalog serviceCatalog,
+            ProbeScheduler probeScheduler,
+            LiveStatusStore liveStatusStore,
+            ServiceSnapshotStore snapshotStore,
+            @Value("${imc-manager.control.bulk-deadline-ms:8000}") long bulkDeadlineMs,
+            @Value("${imc-manager.probe.reconcile-ms:1000}") long reconcileMs,
+            @Value("${imc-manager.snapshot.save-seconds:30}") long snapshotSaveSeconds,
+            @Value("${imc-manager.snapshot.serve-seconds:120}") long snapshotServeSeconds) {
+        this.discoveryCache = discoveryCache;
+        this.healthProbeEngine = healthProbeEngine;
+        this.eventHub = eventHub;
+        this.upstreamGateway = upstreamGateway;
+        this.responseCache = responseCache;
+        this.circuitBreakers = circuitBreakers;
+        this.meterRegistry = meterRegistry;
+        this.statusHistory = statusHistory;
+        this.serviceCatalog = serviceCatalog;
+        this.probeScheduler = probeScheduler;
+        this.liveStatusStore = liveStatusStore;
+        this.snapshotStore = snapshotStore;
+        this.bulkDeadlineMs = bulkDeadlineMs;
+        this.reconcileMs = reconcileMs;
+        this.snapshotSaveSeconds = snapshotSaveSeconds;
+        this.snapshotServeSeconds = snapshotServeSeconds;
+    }
+
+    @PostConstruct
+    public void init() {
+        registerGauges();
+        for (ServiceInfo service : snapshotStore.load()) {
+            if (serviceCatalog.find(service.getName()) != null) {
+                restored.put(service.getName(), service);
+            }
+        }
+    }
+
+    // Probing starts once the whole context is up, not while beans are still being created
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
         startHealthMonitoring();
+        scheduler.scheduleWithFixedDelay(this::saveSnapshot, snapshotSaveSeconds, snapshotSaveSeconds, TimeUnit.SECONDS);
+        scheduler.schedule(this::expireRestored, snapshotServeSeconds, TimeUnit.SECONDS);
+    }
+
+    private void registerGauges() {
+        for (ServiceCatalog.ServiceDefinition service : serviceCatalog.getServices()) {
+            String serviceName = service.getName();
+            Gauge.builder("imc.service.status.age", this, r -> r.statusAgeSeconds(serviceName))
+                .description("Seconds since any instance of the service last reported")
+                .tag("service", serviceName)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            Gauge.builder("imc.probe.lag", this, r -> r.probeLagSeconds(serviceName))
+                .description("Seconds since the least recently probed instance of the service reported")
+                .tag("service", serviceName)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+    }
+
+    private double statusAgeSeconds(String serviceName) {
+        long newest = Long.MIN_VALUE;
+        for (InstanceStatus instance : instanceStatuses.getOrDefault(serviceName, Map.of()).values()) {
+            if (instance.getLastCheck() != null) {
+                newest = Math.max(newest, instance.getLastCheck().getTime());
+            }
+        }
+        return newest == Long.MIN_VALUE ? Double.NaN : (System.currentTimeMillis() - newest) / 1000.0;
+    }
+
+    private double probeLagSeconds(String serviceName) {
+        long oldest = Long.MAX_VALUE;
+        for (InstanceStatus instance : instanceStatuses.getOrDefault(serviceName, Map.of()).values()) {
+            if (instance.getLastCheck() != null) {
+                oldest = Math.min(oldest, instance.getLastCheck().getTime());
+            }
+        }
+        return oldest == Long.MAX_VALUE ? Double.NaN : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        controlExecutor.shutdownNow();
+        saveSnapshot();
+    }
+
+    // Written only when something the overview reports has changed since the last save
+    private void saveSnapshot() {
+        long version = contentVersion.get();
+        if (version == savedVersion) return;
+        try {
+            snapshotStore.save(getAvailableServices());
+            savedVersion = version;
+        } catch (Exception e) {
+            // Retried on the next save
+        }
+    }
+
+    private void expireRestored() {
+        for (String serviceName : restored.keySet()) {
+            if (restored.remove(serviceName) != null) {
+                bumpVersion(serviceName);
+            }
+        }
     }
     
     public List<ServiceInfo> getAvailableServices() {
+        return listServices(serviceCatalog.getServices());
+    }
+
+    public List<ServiceInfo> getAvailableServices(String pipeline) {
+        return listServices(serviceCatalog.getServices(pipeline));
+    }
+
+    private List<ServiceInfo> listServices(List<ServiceCatalog.ServiceDefinition> definitions) {
         List<ServiceInfo> services = new ArrayList<>();
         
-        for (String serviceName : RAG_SERVICES) {
-            List<ServiceInstance> instances = discoveryClient.getInstances(serviceName);
-            if (!instances.isEmpty()) {
-                ServiceInstance instance = instances.get(0);
+        for (ServiceCatalog.ServiceDefinition definition : definitions) {
+            String serviceName = definition.getName();
+            ServiceInfo lastKnown = restored.get(serviceName);
+            if (lastKnown != null && !instanceStatuses.containsKey(serviceName)) {
+                services.add(lastKnown);
+                continue;
+            }
+            List<DiscoveryCache.CachedInstance> discovered = discoveryCache.getInstances(serviceName);
+            if (!discovered.isEmpty()) {
                 ServiceStatus status = serviceStatuses.get(serviceName);
+                List<InstanceStatus> instances = getInstanceStatuses(serviceName, discovered);
                 
                 services.add(ServiceInfo.builder()
                     .name(serviceName)
-                    .displayName(getDisplayName(serviceName))
-                    .description(getDescription(serviceName))
-                    .url(instance.getUri().toString())
+                    .displayName(definition.getDisplayName())
+                    .description(definition.getDescription())
+                    .pipeline(definition.getPipeline())
+                    .url(discovered.get(0).getUrl())
                     .status(status != null ? status.getStatus() : "UNKNOWN")
-                    .lastCheck(status != null ? status.getLastCheck() : null)
+                    .statusSince(status != null ? status.getStatusSince() : null)
+                    .instances(instances)
                     .build());
             }
         }
@@ -60,71 +217,303 @@ public class ServiceRegistryService {
     public ServiceStatus getServiceStatus(String serviceName) {
         return serviceStatuses.get(serviceName);
     }
+
+    public List<InstanceStatus> getInstanceStatuses(String serviceName) {
+        return getInstanceStatuses(serviceName, discoveryCache.getInstances(serviceName));
+    }
+
+    public long getContentVersion() {
+        return contentVersion.get();
+    }
+
+    public long getServiceVersion(String serviceName) {
+        return serviceVersions.getOrDefault(serviceName, 0L);
+    }
+
+    // The rag-pipeline overview body: totals over the rag services, plus every service. With
+    // sinceVersion set, only services whose content changed after that version are listed;
+    // serviceNames always carries the full current set so clients can drop services that left.
+    // A sinceVersion ahead of the current version was handed out before a restart (versions start
+    // at 0 on every boot); that client gets every service with fullResync set instead.
+    // version labels the body and is read by the caller before building, so a body is never
+    // labelled newer than its content.
+    public Map<String, Object> buildOverview(long version, Long sinceVersion) {
+        List<ServiceInfo> services = getAvailableServices(ServiceCatalog.RAG_PIPELINE);
+        
+        long activeServices = services.stream()
+            .filter(s -> "STARTED".equals(s.getStatus()))
+            .count();
+        
+        long totalServices = services.size();
+        String overallStatus = activeServices == totalServices ? "HEALTHY" : 
+                             activeServices > totalServices / 2 ? "DEGRADED" : "CRITICAL";
+        
+        int totalInstances = 0;
+        int activeInstances = 0;
+        int healthyInstances = 0;
+        double processingRate = 0.0;
+        for (ServiceInfo service : services) {
+            totalInstances += service.getInstanceCount();
+            activeInstances += service.getActiveInstances();
+            healthyInstances += service.getHealthyInstances();
+            if (service.getProcessingRate() != null) {
+                processingRate += service.getProcessingRate();
+            }
+        }
+        
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("totalServices", totalServices);
+        overview.put("activeServices", activeServices);
+        overview.put("overallStatus", overallStatus);
+        overview.put("totalInstances", totalInstances);
+        overview.put("activeInstances", activeInstances);
+        overview.put("healthyInstances", healthyInstances);
+        overview.put("processingRate", processingRate);
+        // Some entries are still the previous run's, restored at startup
+        overview.put("stale", services.stream().anyMatch(ServiceInfo::isStale));
+        overview.put("version", version);
+        if (sinceVersion == null) {
+            overview.put("services", services);
+        } else {
+            boolean fullResync = sinceVersion > version;
+            overview.put("sinceVersion", sinceVersion);
+            overview.put("fullResync", fullResync);
+            overview.put("serviceNames", services.stream().map(ServiceInfo::getName).toList());
+            overview.put("services", fullResync ? services : services.stream()
+                .filter(s -> getServiceVersion(s.getName()) > sinceVersion)
+                .toList());
+        }
+        return overview;
+    }
     
-    public boolean startService(String serviceName) {
-        try {
-            String url = getServiceUrl(serviceName);
-            if (url == null) return false;
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                url + "/api/processing/start", 
-                null, 
-                Map.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                updateServiceStatus(serviceName, "STARTED");
-                return true;
+    // Start, stop and toggle go to every registered instance, with one result per instance
+    public List<ControlResult> startService(String serviceName) {
+        return controlBulk("start", List.of(new ControlTarget(serviceName, null)), null);
+    }
+    
+    public List<ControlResult> stopService(String serviceName) {
+        return controlBulk("stop", List.of(new ControlTarget(serviceName, null)), null);
+    }
+    
+    public List<ControlResult> toggleService(String serviceName) {
+        return controlBulk("toggle", List.of(new ControlTarget(serviceName, null)), null);
+    }
+
+    public static boolean allSucceeded(List<ControlResult> results) {
+        return !results.isEmpty() && results.stream().allMatch(result -> "SUCCEEDED".equals(result.getOutcome()));
+    }
+
+    // POSTs path to every registered instance of the service, or only to instanceId, concurrently.
+    // Each instance gets its own result carrying the upstream body or the failure cause; an empty
+    // list means no registered instance matched.
+    public List<ControlResult> postToInstances(String serviceName, String instanceId, String action, String path) {
+        if (serviceCatalog.find(serviceName) == null) return List.of();
+        List<CompletableFuture<ControlResult>> calls = new ArrayList<>();
+        for (DiscoveryCache.CachedInstance instance : discoveryCache.getInstances(serviceName)) {
+            if (instanceId == null || instanceId.equals(instance.getInstanceId())) {
+                calls.add(CompletableFuture.supplyAsync(
+                    () -> callInstance(serviceName, instance, action, path), controlExecutor));
+            }
+        }
+        List<ControlResult> results = new ArrayList<>(calls.size());
+        for (CompletableFuture<ControlResult> call : calls) {
+            results.add(call.join());
+        }
+        responseCache.invalidate(serviceName);
+        return results;
+    }
+
+    // The URL of the named instance, or of the first registered one when instanceId is null
+    public String getInstanceUrl(String serviceName, String instanceId) {
+        if (instanceId == null) return getServiceUrl(serviceName);
+        if (serviceCatalog.find(serviceName) == null) return null;
+        for (DiscoveryCache.CachedInstance instance : discoveryCache.getInstances(serviceName)) {
+            if (instanceId.equals(instance.getInstanceId())) {
+                return instance.getUrl();
             }
-        } catch (Exception e) {
-            // Log error
         }
-        return false;
+        return null;
     }
     
-    public boolean stopService(String serviceName) {
+    // Applies one action to many services and/or single instances at once. All upstream calls run
+    // concurrently under one shared deadline; each target gets its own outcome, and every affected
+    // service's aggregate status is updated once after all calls have settled.
+    public List<ControlResult> controlBulk(String action, List<ControlTarget> targets, Long deadlineMs) {
+        long deadline = deadlineMs != null && deadlineMs > 0 ? Math.min(deadlineMs, bulkDeadlineMs) : bulkDeadlineMs;
+        long deadlineAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadline);
+
+        List<ControlResult> results = new ArrayList<>();
+        List<PendingControl> calls = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ControlTarget target : targets) {
+            String serviceName = target.getService();
+            if (serviceCatalog.find(serviceName) == null) {
+                results.add(new ControlResult(serviceName, target.getInstanceId(), null, action,
+                    "NOT_FOUND", "Not a service in the catalog", 0));
+                continue;
+            }
+            List<DiscoveryCache.CachedInstance> instances = discoveryCache.getInstances(serviceName);
+            if (target.getInstanceId() != null) {
+                instances = instances.stream()
+                    .filter(instance -> target.getInstanceId().equals(instance.getInstanceId()))
+                    .toList();
+            }
+            if (instances.isEmpty()) {
+                results.add(new ControlResult(serviceName, target.getInstanceId(), null, action,
+                    "NOT_FOUND", "No registered instance matches this target", 0));
+                continue;
+            }
+            String serviceAction = "toggle".equals(action) && target.getInstanceId() == null
+                ? toggledAction(getServiceStatus(serviceName) != null ? getServiceStatus(serviceName).getStatus() : null)
+                : action;
+            for (DiscoveryCache.CachedInstance instance : instances) {
+                // Overlapping targets (a service and one of its instances) call each instance once
+                if (!seen.add(serviceName + "/" + instance.getInstanceId())) continue;
+                String instanceAction = "toggle".equals(serviceAction)
+                    ? toggledAction(knownInstanceStatus(serviceName, instance.getInstanceId()))
+                    : serviceAction;
+                calls.add(new PendingControl(serviceName, instance, instanceAction, CompletableFuture.supplyAsync(
+                    () -> callControl(serviceName, instance, instanceAction), controlExecutor)));
+            }
+        }
+
+        Set<String> affected = new LinkedHashSet<>();
+        for (PendingControl call : calls) {
+            ControlResult result;
+            try {
+                result = call.future.get(Math.max(0, deadlineAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // The upstream call keeps running until its own read timeout; its late answer is ignored
+                call.future.cancel(true);
+                result = call.failed("TIMED_OUT", "No answer within the " + deadline + " ms deadline", deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result = call.failed("FAILED", "Interrupted", 0);
+            } catch (ExecutionException e) {
+                result = call.failed("FAILED", e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), 0);
+            }
+            if ("SUCCEEDED".equals(result.getOutcome())) {
+                InstanceStatus previous = instanceStatuses
+                    .getOrDefault(result.getService(), Map.of())
+                    .get(result.getInstanceId());
+                // The status the instance's events last reported no longer holds
+                liveStatusStore.clearStatus(result.getService(), result.getInstanceId());
+                applyInstanceStatus(result.getService(), new InstanceStatus(
+                    result.getInstanceId(),
+                    result.getUrl(),
+                    "start".equals(result.getAction()) ? "STARTED" : "STOPPED",
+                    new Date(),
+                    previous != null ? previous.getProcessingRate() : null,
+                    previous != null ? previous.getFilesProcessed() : null
+                ));
+                affected.add(result.getService());
+            }
+            results.add(result);
+        }
+
+        for (String serviceName : affected) {
+            updateServiceStatus(serviceName, aggregateStatus(getInstanceStatuses(serviceName)));
+            responseCache.invalidate(serviceName);
+        }
+        return results;
+    }
+
+    private ControlResult callControl(String serviceName, DiscoveryCache.CachedInstance instance, String action) {
+        String path = controlPath(serviceName, action);
+        if (path == null) {
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                "UNSUPPORTED", "The catalog lists no " + action + " endpoint for " + serviceName, 0);
+        }
+        return callInstance(serviceName, instance, action, path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ControlResult callInstance(String serviceName, DiscoveryCache.CachedInstance instance, String action,
+                                       String path) {
+        long start = System.nanoTime();
         try {
-            String url = getServiceUrl(serviceName);
-            if (url == null) return false;
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                url + "/api/processing/stop", 
-                null, 
+            ResponseEntity<Map> response = upstreamGateway.post(
+                instance.getUrl() + path,
+                UpstreamGateway.CallProfile.CONTROL,
                 Map.class
             );
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                updateServiceStatus(serviceName, "STOPPED");
-                return true;
-            }
+            boolean ok = response.getStatusCode() == HttpStatus.OK;
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                ok ? "SUCCEEDED" : "FAILED", ok ? null : "Upstream answered " + response.getStatusCode().value(),
+                (System.nanoTime() - start) / 1_000_000, response.getBody());
+        } catch (CircuitOpenException e) {
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                "CIRCUIT_OPEN", e.getMessage(), 0);
+        } catch (UpstreamSaturatedException e) {
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                "SATURATED", e.getMessage(), (System.nanoTime() - start) / 1_000_000);
         } catch (Exception e) {
-            // Log error
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                "FAILED", e.getMessage(), (System.nanoTime() - start) / 1_000_000);
         }
-        return false;
     }
-    
-    public boolean toggleService(String serviceName) {
-        ServiceStatus status = getServiceStatus(serviceName);
-        if (status != null && "STARTED".equals(status.getStatus())) {
-            return stopService(serviceName);
-        } else {
-            return startService(serviceName);
+
+    private static class PendingControl {
+        private final String serviceName;
+        private final DiscoveryCache.CachedInstance instance;
+        private final String action;
+        private final CompletableFuture<ControlResult> future;
+
+        PendingControl(String serviceName, DiscoveryCache.CachedInstance instance, String action,
+                       CompletableFuture<ControlResult> future) {
+            this.serviceName = serviceName;
+            this.instance = instance;
+            this.action = action;
+            this.future = future;
+        }
+
+        ControlResult failed(String outcome, String message, long elapsedMs) {
+            return new ControlResult(serviceName, instance.getInstanceId(), instance.getUrl(), action,
+                outcome, message, elapsedMs);
         }
     }
-    
-    public Map<String, Object> getServiceState(String serviceName) {
+
+    // The instance path for a control action, or null if the service does not support it
+    private String controlPath(String serviceName, String action) {
+        ServiceCatalog.ServiceDefinition definition = serviceCatalog.find(serviceName);
+        return definition != null ? definition.getEndpoint(action) : null;
+    }
+
+    private String knownInstanceStatus(String serviceName, String instanceId) {
+        InstanceStatus status = instanceStatuses.getOrDefault(serviceName, Map.of()).get(instanceId);
+        return status != null ? status.getStatus() : null;
+    }
+
+    private static String toggledAction(String currentStatus) {
+        return "STARTED".equals(currentStatus) ? "stop" : "start";
+    }
+
+    // The state of one instance; with instanceId null, of the first registered one
+    public Map<String, Object> getServiceState(String serviceName, String instanceId) {
         try {
-            String url = getServiceUrl(serviceName);
-            if (url == null) return Map.of("error", "Service not found");
+            ServiceCatalog.ServiceDefinition definition = serviceCatalog.find(serviceName);
+            String url = getInstanceUrl(serviceName, instanceId);
+            if (definition == null || url == null) return Map.of("error", "Service not found");
+            if (definition.getEndpoint("state") == null) return Map.of("error", "Service has no state endpoint");
             
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                url + "/api/processing/state", 
+            ResponseEntity<Map> response = upstreamGateway.get(
+                url + definition.getEndpoint("state"), 
+                UpstreamGateway.CallProfile.READ,
                 Map.class
             );
             
             if (response.getStatusCode() == HttpStatus.OK) {
                 return response.getBody() != null ? response.getBody() : Map.of();
             }
+        } catch (CircuitOpenException e) {
+            // Fail fast with what the health monitor last saw
+            ServiceStatus status = serviceStatuses.get(serviceName);
+            Map<String, Object> lastKnown = new HashMap<>();
+            lastKnown.put("error", e.getMessage());
+            lastKnown.put("circuitOpen", true);
+            lastKnown.put("lastKnownStatus", status != null ? status.getStatus() : "UNKNOWN");
+            lastKnown.put("statusSince", status != null ? status.getStatusSince() : null);
+            return lastKnown;
         } catch (Exception e) {
             return Map.of("error", "Failed to get service state: " + e.getMessage());
         }
@@ -132,64 +521,219 @@ public class ServiceRegistryService {
     }
     
     private void startHealthMonitoring() {
-        scheduler.scheduleAtFixedRate(() -> {
-            for (String serviceName : RAG_SERVICES) {
-                checkServiceHealth(serviceName);
+        // The scheduler only follows the registry; the timing wheel paces each instance's probes
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcileProbes();
+            } catch (RuntimeException e) {
+                // Retried on the next pass
             }
-        }, 0, 10, TimeUnit.SECONDS);
+        }, 0, reconcileMs, TimeUnit.MILLISECONDS);
     }
-    
-    private void checkServiceHealth(String serviceName) {
-        try {
-            String url = getServiceUrl(serviceName);
-            if (url == null) {
+
+    // Gives every registered instance of a catalog service one periodic probe on the wheel, at
+    // its service's interval, and drops the probes of instances that left the registry
+    private void reconcileProbes() {
+        long discoveryVersion = discoveryCache.getVersion();
+        if (discoveryVersion == seenDiscoveryVersion) {
+            return;
+        }
+
+        Set<String> live = new HashSet<>();
+        for (ServiceCatalog.ServiceDefinition service : serviceCatalog.getServices()) {
+            String serviceName = service.getName();
+            // Instance sets or URLs changed; every service's overview entry may differ
+            bumpVersion(serviceName);
+            List<DiscoveryCache.CachedInstance> instances = discoveryCache.getInstances(serviceName);
+            if (instances.isEmpty()) {
+                instanceStatuses.remove(serviceName);
                 updateServiceStatus(serviceName, "UNKNOWN");
-                return;
+                continue;
             }
-            
-            ResponseEntity<Map> response = restTemplate.getForEntity(
-                url + "/api/processing/state", 
-                Map.class
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> state = response.getBody();
-                boolean enabled = Boolean.TRUE.equals(state.get("enabled")) || 
-                               Boolean.TRUE.equals(state.get("processing"));
-                updateServiceStatus(serviceName, enabled ? "STARTED" : "STOPPED");
-            } else {
-                updateServiceStatus(serviceName, "ERROR");
+            pruneDepartedInstances(serviceName, instances);
+
+            long intervalMs = TimeUnit.SECONDS.toMillis(service.getProbe().getIntervalSeconds());
+            for (DiscoveryCache.CachedInstance instance : instances) {
+                String key = LiveStatusStore.key(serviceName, instance.getInstanceId());
+                live.add(key);
+                // Recorded only once scheduled, so a pass that fails here schedules it again
+                if (!instance.equals(probedInstances.get(key))) {
+                    probeScheduler.schedule(key, intervalMs, () -> dispatchProbe(service, instance, key));
+                    probedInstances.put(key, instance);
+                }
+            }
+        }
+        for (String key : probedInstances.keySet()) {
+            if (!live.contains(key)) {
+                probedInstances.remove(key);
+                probeScheduler.cancel(key);
             }
-        } catch (Exception e) {
-            updateServiceStatus(serviceName, "ERROR");
+        }
+        liveStatusStore.retain(live);
+        // Only a pass that got through everything marks this registry version as handled
+        seenDiscoveryVersion = discoveryVersion;
+    }
+
+    // Runs on the wheel thread, so it only hands the probe to the engine. Instances whose own
+    // events are arriving are not polled; their probes resume once the heartbeats stop.
+    private void dispatchProbe(ServiceCatalog.ServiceDefinition service, DiscoveryCache.CachedInstance instance,
+                               String key) {
+        if (liveStatusStore.isFresh(service.getName(), instance.getInstanceId())) {
+            return;
+        }
+        // While an instance's breaker is open its probes back off along with the breaker;
+        // the instance keeps its last known status until a half-open trial probe runs
+        if (!circuitBreakers.isCallPermitted(instance.getUrl())) {
+            return;
+        }
+        healthProbeEngine.submit(
+            key,
+            () -> probeInstance(service, instance),
+            status -> recordInstanceStatus(service.getName(), status),
+            new InstanceStatus(instance.getInstanceId(), instance.getUrl(), "ERROR", new Date(), null, null)
+        );
+    }
+    
+    // Every probe, including failed ones, goes into the status history with its latency
+    private InstanceStatus probeInstance(ServiceCatalog.ServiceDefinition service, DiscoveryCache.CachedInstance instance) {
+        String serviceName = service.getName();
+        long start = System.nanoTime();
+        try {
+            InstanceStatus status = checkInstanceHealth(service.getProbe(), instance);
+            statusHistory.recordProbe(serviceName, status.getStatus(), (System.nanoTime() - start) / 1_000,
+                status.getFilesProcessed());
+            return status;
+        } catch (RuntimeException e) {
+            statusHistory.recordProbe(serviceName, "ERROR", (System.nanoTime() - start) / 1_000, null);
+            throw e;
         }
     }
     
-    private String getServiceUrl(String serviceName) {
-        List<ServiceInstance> instances = discoveryClient.getInstances(serviceName);
-        return instances.isEmpty() ? null : instances.get(0).getUri().toString();
+    private InstanceStatus checkInstanceHealth(ServiceCatalog.ProbeSpec probe, DiscoveryCache.CachedInstance instance) {
+        // Only the status fields are decoded; an error status or unreadable body fails the probe
+        return upstreamGateway.read(
+            instance.getUrl() + probe.getPath(),
+            UpstreamGateway.CallProfile.PROBE,
+            body -> probe.getFormat() == ServiceCatalog.ProbeFormat.ACTUATOR_HEALTH
+                ? UpstreamPayloads.readHealthStatus(instance.getInstanceId(), instance.getUrl(), body)
+                : UpstreamPayloads.readInstanceStatus(instance.getInstanceId(), instance.getUrl(), body)
+        );
     }
     
-    private void updateServiceStatus(String serviceName, String status) {
-        serviceStatuses.put(serviceName, new ServiceStatus(status, new Date()));
+    // Status derived from the instance's own events rather than a probe
+    public void recordLiveStatus(String serviceName, InstanceStatus status) {
+        recordInstanceStatus(serviceName, status);
+    }
+
+    private void recordInstanceStatus(String serviceName, InstanceStatus status) {
+        applyInstanceStatus(serviceName, status);
+        updateServiceStatus(serviceName, aggregateStatus(getInstanceStatuses(serviceName)));
+    }
+
+    // Stores one instance's status without touching the service's aggregate status. An unchanged
+    // status keeps the time it was first seen, so only the version bumps below change the body.
+    private void applyInstanceStatus(String serviceName, InstanceStatus status) {
+        Map<String, InstanceStatus> known = instanceStatuses.computeIfAbsent(serviceName, k -> new ConcurrentHashMap<>());
+        InstanceStatus current = known.get(status.getInstanceId());
+        if (current != null && current.getStatus().equals(status.getStatus())) {
+            status = status.since(current.getStatusSince());
+        }
+        InstanceStatus previous = known.put(status.getInstanceId(), status);
+        if (previous == null) {
+            // First result of this run; the version bump below retires the restored entry
+            restored.remove(serviceName);
+        }
+        if (previous == null || !previous.getStatus().equals(status.getStatus())
+                || !Objects.equals(previous.getProcessingRate(), status.getProcessingRate())
+                || !Objects.equals(previous.getFilesProcessed(), status.getFilesProcessed())) {
+            bumpVersion(serviceName);
+        }
+        if (previous == null || !previous.getStatus().equals(status.getStatus())) {
+            publishStatusEvent(serviceName, status.getInstanceId(), status.getUrl(), status.getStatus(),
+                previous != null ? previous.getStatus() : null);
+        }
+    }
+    
+    // Instances that left the registry are dropped; newly registered ones report UNKNOWN until probed
+    private List<InstanceStatus> getInstanceStatuses(String serviceName, List<DiscoveryCache.CachedInstance> discovered) {
+        Map<String, InstanceStatus> known = instanceStatuses.getOrDefault(serviceName, Map.of());
+        List<InstanceStatus> statuses = new ArrayList<>(discovered.size());
+        for (DiscoveryCache.CachedInstance instance : discovered) {
+            InstanceStatus status = known.get(instance.getInstanceId());
+            statuses.add(status != null ? status
+                : new InstanceStatus(instance.getInstanceId(), instance.getUrl(), "UNKNOWN", null, null, null));
+        }
+        return statuses;
     }
     
-    private String getDisplayName(String serviceName) {
-        switch (serviceName) {
-            case "hdfswatcher": return "HDFS Watcher";
-            case "textproc": return "Text Processor";
-            case "embedproc": return "Embedding Processor";
-            default: return serviceName;
+    private void pruneDepartedInstances(String serviceName, List<DiscoveryCache.CachedInstance> discovered) {
+        Map<String, InstanceStatus> known = instanceStatuses.get(serviceName);
+        if (known == null) return;
+        Set<String> liveIds = new HashSet<>();
+        for (DiscoveryCache.CachedInstance instance : discovered) {
+            liveIds.add(instance.getInstanceId());
+        }
+        if (known.keySet().retainAll(liveIds)) {
+            bumpVersion(serviceName);
         }
     }
     
-    private String getDescription(String serviceName) {
-        switch (serviceName) {
-            case "hdfswatcher": return "Monitors document storage for new files";
-            case "textproc": return "Extracts and processes text from documents";
-            case "embedproc": return "Generates vector embeddings from processed text";
-            default: return "RAG Pipeline Service";
+    private void bumpVersion(String serviceName) {
+        serviceVersions.put(serviceName, contentVersion.incrementAndGet());
+    }
+    
+    private String aggregateStatus(List<InstanceStatus> instances) {
+        boolean anyStopped = false;
+        boolean anyError = false;
+        for (InstanceStatus instance : instances) {
+            switch (instance.getStatus()) {
+                case "STARTED": return "STARTED";
+                case "STOPPED": anyStopped = true; break;
+                case "ERROR": anyError = true; break;
+                default: break;
+            }
         }
+        if (anyStopped) return "STOPPED";
+        return anyError ? "ERROR" : "UNKNOWN";
+    }
+    
+    // Only catalog services resolve: anything else registered in Eureka is never proxied to
+    public String getServiceUrl(String serviceName) {
+        ServiceCatalog.ServiceDefinition service = serviceCatalog.find(serviceName);
+        return service != null ? discoveryCache.getUrl(service.getName()) : null;
+    }
+    
+    // Replaced only on a change, so statusSince is the time of the last transition
+    private void updateServiceStatus(String serviceName, String status) {
+        ServiceStatus current = serviceStatuses.get(serviceName);
+        if (current != null && current.getStatus().equals(status)) {
+            return;
+        }
+        ServiceStatus previous = serviceStatuses.put(serviceName, new ServiceStatus(status, new Date()));
+        if (previous == null || !previous.getStatus().equals(status)) {
+            statusHistory.recordTransition(serviceName, previous != null ? previous.getStatus() : null, status);
+            bumpVersion(serviceName);
+            responseCache.invalidate(serviceName);
+            publishStatusEvent(serviceName, null, getServiceUrl(serviceName), status,
+                previous != null ? previous.getStatus() : null);
+        }
+    }
+    
+    private void publishStatusEvent(String serviceName, String instanceId, String url,
+                                    String status, String previousStatus) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("app", serviceName);
+        event.put("stage", serviceName);
+        event.put("event", PipelineEvent.STATUS_CHANGE);
+        event.put("instanceId", instanceId);
+        event.put("url", url);
+        event.put("status", status);
+        event.put("timestamp", System.currentTimeMillis());
+        event.put("message", serviceCatalog.getDisplayName(serviceName)
+            + (instanceId != null ? " instance " + instanceId : "")
+            + " changed from " + (previousStatus != null ? previousStatus : "UNKNOWN") + " to " + status);
+        // Only the latest transition per service/instance matters to a client that is behind
+        eventHub.publish("status:" + serviceName + (instanceId != null ? "/" + instanceId : ""), event);
     }
     
     // Data classes
@@ -197,9 +741,17 @@ public class ServiceRegistryService {
         private String name;
         private String displayName;
         private String description;
+        private String pipeline;
         private String url;
         private String status;
-        private Date lastCheck;
+        private Date statusSince;
+        private int instanceCount;
+        private int activeInstances;
+        private int healthyInstances;
+        private Double processingRate;
+        private List<InstanceStatus> instances = List.of();
+        // Restored from the previous run's snapshot rather than observed by this one
+        private boolean stale;
         
         // Builder pattern
         public static Builder builder() {
@@ -224,6 +776,11 @@ public class ServiceRegistryService {
                 return this;
             }
             
+            public Builder pipeline(String pipeline) {
+                serviceInfo.pipeline = pipeline;
+                return this;
+            }
+            
             public Builder url(String url) {
                 serviceInfo.url = url;
                 return this;
@@ -234,8 +791,35 @@ public class ServiceRegistryService {
                 return this;
             }
             
-            public Builder lastCheck(Date lastCheck) {
-                serviceInfo.lastCheck = lastCheck;
+            public Builder statusSince(Date statusSince) {
+                serviceInfo.statusSince = statusSince;
+                return this;
+            }
+            
+            // Also derives instance counts and aggregated throughput
+            public Builder instances(List<InstanceStatus> instances) {
+                serviceInfo.instances = instances;
+                serviceInfo.instanceCount = instances.size();
+                serviceInfo.activeInstances = 0;
+                serviceInfo.healthyInstances = 0;
+                serviceInfo.processingRate = null;
+                for (InstanceStatus instance : instances) {
+                    if ("STARTED".equals(instance.getStatus())) {
+                        serviceInfo.activeInstances++;
+                    }
+                    if ("STARTED".equals(instance.getStatus()) || "STOPPED".equals(instance.getStatus())) {
+                        serviceInfo.healthyInstances++;
+                    }
+                    if (instance.getProcessingRate() != null) {
+                        serviceInfo.processingRate = (serviceInfo.processingRate != null ? serviceInfo.processingRate : 0.0)
+                            + instance.getProcessingRate();
+                    }
+                }
+                return this;
+            }
+            
+            public Builder stale(boolean stale) {
+                serviceInfo.stale = stale;
                 return this;
             }
             
@@ -248,21 +832,127 @@ public class ServiceRegistryService {
         public String getName() { return name; }
         public String getDisplayName() { return displayName; }
         public String getDescription() { return description; }
+        public String getPipeline() { return pipeline; }
         public String getUrl() { return url; }
         public String getStatus() { return status; }
-        public Date getLastCheck() { return lastCheck; }
+        public Date getStatusSince() { return statusSince; }
+        public int getInstanceCount() { return instanceCount; }
+        public int getActiveInstances() { return activeInstances; }
+        public int getHealthyInstances() { return healthyInstances; }
+        public Double getProcessingRate() { return processingRate; }
+        public List<InstanceStatus> getInstances() { return instances; }
+        public boolean isStale() { return stale; }
     }
     
+    // statusSince is when the service entered this status, not when it was last probed
     public static class ServiceStatus {
+        private final String status;
+        private final Date statusSince;
+        
+        public ServiceStatus(String status, Date statusSince) {
+            this.status = status;
+            this.statusSince = statusSince;
+        }
+        
+        public String getStatus() { return status; }
+        public Date getStatusSince() { return statusSince; }
+    }
+    
+    // lastCheck is the time of this particular probe or event; it changes on every probe without
+    // a version bump, so it stays out of the versioned bodies, which carry statusSince instead
+    public static class InstanceStatus {
+        private final String instanceId;
+        private final String url;
         private final String status;
         private final Date lastCheck;
+        private final Date statusSince;
+        private final Double processingRate;
+        private final Long filesProcessed;
         
-        public ServiceStatus(String status, Date lastCheck) {
+        public InstanceStatus(String instanceId, String url, String status, Date lastCheck,
+                              Double processingRate, Long filesProcessed) {
+            this(instanceId, url, status, lastCheck, lastCheck, processingRate, filesProcessed);
+        }
+
+        private InstanceStatus(String instanceId, String url, String status, Date lastCheck, Date statusSince,
+                               Double processingRate, Long filesProcessed) {
+            this.instanceId = instanceId;
+            this.url = url;
             this.status = status;
             this.lastCheck = lastCheck;
+            this.statusSince = statusSince;
+            this.processingRate = processingRate;
+            this.filesProcessed = filesProcessed;
+        }
+
+        // The same reading, with the status dated from an earlier reading that already had it
+        public InstanceStatus since(Date statusSince) {
+            return new InstanceStatus(instanceId, url, status, lastCheck, statusSince, processingRate, filesProcessed);
         }
         
+        public String getInstanceId() { return instanceId; }
+        public String getUrl() { return url; }
         public String getStatus() { return status; }
+        @JsonIgnore
         public Date getLastCheck() { return lastCheck; }
+        public Date getStatusSince() { return statusSince; }
+        public Double getProcessingRate() { return processingRate; }
+        public Long getFilesProcessed() { return filesProcessed; }
+    }
+
+    public static class ControlTarget {
+        private String service;
+        private String instanceId;
+
+        public ControlTarget() {
+        }
+
+        public ControlTarget(String service, String instanceId) {
+            this.service = service;
+            this.instanceId = instanceId;
+        }
+
+        public String getService() { return service; }
+        public void setService(String service) { this.service = service; }
+        public String getInstanceId() { return instanceId; }
+        public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+    }
+
+    public static class ControlResult {
+        private final String service;
+        private final String instanceId;
+        private final String url;
+        private final String action;
+        private final String outcome;
+        private final String message;
+        private final long elapsedMs;
+        // The instance's own answer, for operations whose callers read it
+        private final Map<String, Object> response;
+
+        public ControlResult(String service, String instanceId, String url, String action,
+                             String outcome, String message, long elapsedMs) {
+            this(service, instanceId, url, action, outcome, message, elapsedMs, null);
+        }
+
+        public ControlResult(String service, String instanceId, String url, String action,
+                             String outcome, String message, long elapsedMs, Map<String, Object> response) {
+            this.service = service;
+            this.instanceId = instanceId;
+            this.url = url;
+            this.action = action;
+            this.outcome = outcome;
+            this.message = message;
+            this.elapsedMs = elapsedMs;
+            this.response = response;
+        }
+
+        public String getService() { return service; }
+        public String getInstanceId() { return instanceId; }
+        public String getUrl() { return url; }
+        public String getAction() { return action; }
+        public String getOutcome() { return outcome; }
+        public String getMessage() { return message; }
+        public long getElapsedMs() { return elapsedMs; }
+        public Map<String, Object> getResponse() { return response; }
     }
 }
@@ -0,0 +1,130 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The last known service list on local disk, so a restarted manager has something to show
+// before the registry has been read and the first probes have come back. The file is replaced
+// atomically, so a crash mid-write leaves the previous snapshot intact.
+@Component
+public class ServiceSnapshotStore {
+
+    private static final int FORMAT = 1;
+
+    private final ObjectMapper objectMapper;
+    private final String path;
+    // An older snapshot says too little about the current pipeline to be worth showing
+    private final long maxAgeSeconds;
+
+    public ServiceSnapshotStore(
+            ObjectMapper objectMapper,
+            @Value("${imc-manager.snapshot.path:data/service-snapshot.json}") String path,
+            @Value("${imc-manager.snapshot.max-age-seconds:86400}") long maxAgeSeconds) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    // Missing, unreadable or too old: nothing to restore
+    public List<ServiceRegistryService.ServiceInfo> load() {
+        Path file = Path.of(path);
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            long savedAt = root.path("savedAt").asLong();
+            if (root.path("format").asInt() != FORMAT
+                    || System.currentTimeMillis() - savedAt > TimeUnit.SECONDS.toMillis(maxAgeSeconds)) {
+                return List.of();
+            }
+            List<ServiceRegistryService.ServiceInfo> services = new ArrayList<>();
+            for (JsonNode service : root.path("services")) {
+                List<ServiceRegistryService.InstanceStatus> instances = new ArrayList<>();
+                for (JsonNode instance : service.path("instances")) {
+                    instances.add(new ServiceRegistryService.InstanceStatus(
+                        text(instance, "instanceId"),
+                        text(instance, "url"),
+                        instance.path("status").asText("UNKNOWN"),
+                        date(instance, "statusSince"),
+                        instance.hasNonNull("processingRate") ? instance.get("processingRate").asDouble() : null,
+                        instance.hasNonNull("filesProcessed") ? instance.get("filesProcessed").asLong() : null
+                    ));
+                }
+                services.add(ServiceRegistryService.ServiceInfo.builder()
+                    .name(text(service, "name"))
+                    .displayName(text(service, "displayName"))
+                    .description(text(service, "description"))
+                    .pipeline(text(service, "pipeline"))
+                    .url(text(service, "url"))
+                    .status(service.path("status").asText("UNKNOWN"))
+                    .statusSince(date(service, "statusSince"))
+                    .instances(instances)
+                    .stale(true)
+                    .build());
+            }
+            return services;
+        } catch (IOException | RuntimeException e) {
+            // A damaged snapshot is ignored; the next save replaces it
+            return List.of();
+        }
+    }
+
+    public void save(List<ServiceRegistryService.ServiceInfo> services) throws IOException {
+        List<Map<String, Object>> entries = new ArrayList<>(services.size());
+        for (ServiceRegistryService.ServiceInfo service : services) {
+            List<Map<String, Object>> instances = new ArrayList<>();
+            for (ServiceRegistryService.InstanceStatus instance : service.getInstances()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("instanceId", instance.getInstanceId());
+                entry.put("url", instance.getUrl());
+                entry.put("status", instance.getStatus());
+                entry.put("statusSince", instance.getStatusSince() != null ? instance.getStatusSince().getTime() : null);
+                entry.put("processingRate", instance.getProcessingRate());
+                entry.put("filesProcessed", instance.getFilesProcessed());
+                instances.add(entry);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", service.getName());
+            entry.put("displayName", service.getDisplayName());
+            entry.put("description", service.getDescription());
+            entry.put("pipeline", service.getPipeline());
+            entry.put("url", service.getUrl());
+            entry.put("status", service.getStatus());
+            entry.put("statusSince", service.getStatusSince() != null ? service.getStatusSince().getTime() : null);
+            entry.put("instances", instances);
+            entries.add(entry);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("format", FORMAT);
+        root.put("savedAt", System.currentTimeMillis());
+        root.put("services", entries);
+
+        Path file = Path.of(path).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, objectMapper.writeValueAsBytes(root));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static Date date(JsonNode node, String field) {
+        return node.hasNonNull(field) ? new Date(node.get(field).asLong()) : null;
+    }
+}
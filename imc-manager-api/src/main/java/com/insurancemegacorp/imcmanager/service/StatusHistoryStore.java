@@ -0,0 +1,418 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Append-only log of service status transitions and probe results in a memory-mapped file of
+// fixed-width records. Records are written in time order into a ring of `capacity` slots, so
+// range queries binary-search the mapped file and scan only the slots they need; nothing is
+// loaded into the heap and the history survives restarts. Readers take no lock: a scan checks
+// afterwards, seqlock style, that the writer has not started overwriting any slot it read.
+//
+// Layout: a 4 KiB header (magic, format, record size, capacity, records written, service
+// names) followed by capacity 32-byte records:
+//   0 timestamp ms (long) | 8 service index (short) | 10 type | 11 status | 12 previous status
+//   16 probe latency µs (int) | 20 files processed (long, -1 if unknown) | 28 reserved
+@Component
+public class StatusHistoryStore {
+
+    public static final List<String> STATUSES = List.of("UNKNOWN", "STARTED", "STOPPED", "ERROR");
+
+    private static final int MAGIC = 0x494d4348; // "IMCH"
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 4096;
+    private static final int RECORD_SIZE = 32;
+    private static final int NAMES_OFFSET = 64;
+    private static final int NAME_SLOT = 32;
+    private static final int MAX_SERVICES = (HEADER_SIZE - NAMES_OFFSET) / NAME_SLOT;
+    private static final int WRITTEN_OFFSET = 24;
+    private static final int NAME_COUNT_OFFSET = 32;
+
+    private static final byte TYPE_TRANSITION = 1;
+    private static final byte TYPE_PROBE = 2;
+    // Written once per manager start: statuses seen before it are not carried across the gap
+    private static final byte TYPE_SESSION_START = 3;
+    private static final short ALL_SERVICES = -1;
+    // Records this close to being overwritten are treated as already gone, so a scan that runs
+    // while probes are being recorded rarely has to be repeated
+    private static final int READ_MARGIN = 1024;
+
+    private final String path;
+    private final int capacity;
+    private final long flushSeconds;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Short> serviceIndexes = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    // Total records ever appended; the newest record is at slot (written - 1) % capacity
+    private volatile long written;
+    // Sequence number of the record being appended; set before its slot is touched
+    private volatile long writing = -1;
+    private long lastTimestamp;
+
+    public StatusHistoryStore(
+            @Value("${imc-manager.history.path:data/status-history.dat}") String path,
+            @Value("${imc-manager.history.capacity:1048576}") int capacity,
+            @Value("${imc-manager.history.flush-seconds:5}") long flushSeconds) {
+        this.path = path;
+        this.capacity = capacity;
+        this.flushSeconds = flushSeconds;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if ((long) capacity * RECORD_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalStateException("imc-manager.history.capacity is too large for one mapped file: " + capacity);
+        }
+        Path file = Path.of(path).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        long size = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+        if (Files.exists(file) && !isCompatible(file, size)) {
+            // Different format or capacity: keep the old file aside rather than misreading it
+            Files.move(file, file.resolveSibling(file.getFileName() + ".incompatible"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT);
+            buffer.putInt(8, RECORD_SIZE);
+            buffer.putLong(16, capacity);
+            buffer.putLong(WRITTEN_OFFSET, 0);
+            buffer.putInt(NAME_COUNT_OFFSET, 0);
+        }
+        written = buffer.getLong(WRITTEN_OFFSET);
+        int names = buffer.getInt(NAME_COUNT_OFFSET);
+        for (short i = 0; i < names; i++) {
+            serviceIndexes.put(readName(i), i);
+        }
+        if (written > 0) {
+            lastTimestamp = buffer.getLong(slotOffset(written - 1));
+        }
+
+        append(ALL_SERVICES, TYPE_SESSION_START, (byte) 0, (byte) 0, 0, -1);
+        flusher.scheduleWithFixedDelay(buffer::force, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        flusher.shutdownNow();
+        if (buffer != null) buffer.force();
+        if (channel != null) channel.close();
+    }
+
+    public void recordTransition(String serviceName, String previousStatus, String status) {
+        Short service = indexOf(serviceName);
+        if (service == null) return;
+        append(service, TYPE_TRANSITION, statusCode(status), statusCode(previousStatus), 0, -1);
+    }
+
+    public void recordProbe(String serviceName, String status, long latencyMicros, Long filesProcessed) {
+        Short service = indexOf(serviceName);
+        if (service == null) return;
+        append(service, TYPE_PROBE, statusCode(status), (byte) 0,
+            (int) Math.min(Integer.MAX_VALUE, latencyMicros), filesProcessed != null ? filesProcessed : -1);
+    }
+
+    // Time spent in each status between from and to. Uptime is STARTED time over observed time;
+    // stretches with no known status (before the first record, while the manager was down) are
+    // reported as UNKNOWN and excluded from the percentage.
+    public Map<String, Object> getUptime(String serviceName, long from, long to) {
+        Short service = serviceIndexes.get(serviceName);
+        long[] millisByStatus = new long[STATUSES.size()];
+        int transitions = 0;
+        if (service != null) {
+            Object[] scan = consistentRead((start, end) -> scanUptime(service, from, to, start, end));
+            millisByStatus = (long[]) scan[0];
+            transitions = (int) scan[1];
+        } else {
+            millisByStatus[0] = to - from;
+        }
+
+        long observed = 0;
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (int i = 0; i < STATUSES.size(); i++) {
+            durations.put(STATUSES.get(i), millisByStatus[i]);
+            if (i != 0) observed += millisByStatus[i];
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("service", serviceName);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("uptimePercent", observed > 0 ? millisByStatus[1] * 100.0 / observed : null);
+        result.put("observedMs", observed);
+        result.put("transitions", transitions);
+        result.put("durationsMs", durations);
+        return result;
+    }
+
+    // Milliseconds per status and the number of transitions. A run of the manager is taken to end
+    // at its last record of any kind: the gap until the next session start is downtime, UNKNOWN.
+    // This holds when that session start falls after to, too; only a run with no later record at
+    // all is still going, and only its last status is extended up to now.
+    private Object[] scanUptime(short service, long from, long to, long start, long end) {
+        long[] millisByStatus = new long[STATUSES.size()];
+        int transitions = 0;
+        long first = firstAtOrAfter(from, start, end);
+        int current = statusAt(service, first, start);
+        long cursor = from;
+        long lastSeen = from;
+        for (long seq = first; seq < end; seq++) {
+            int offset = slotOffset(seq);
+            long timestamp = buffer.getLong(offset);
+            byte type = buffer.get(offset + 10);
+            if (timestamp > to) {
+                // The range ends inside this run, or inside the downtime before the next one
+                long runEnd = type == TYPE_SESSION_START ? Math.min(to, Math.max(cursor, lastSeen)) : to;
+                millisByStatus[current] += runEnd - cursor;
+                millisByStatus[0] += to - runEnd;
+                return new Object[] {millisByStatus, transitions};
+            }
+            short recordService = buffer.getShort(offset + 8);
+            if (type == TYPE_SESSION_START) {
+                long runEnd = Math.max(cursor, lastSeen);
+                millisByStatus[current] += runEnd - cursor;
+                millisByStatus[0] += timestamp - runEnd;
+                cursor = timestamp;
+                current = 0;
+            } else if (type == TYPE_TRANSITION && recordService == service) {
+                millisByStatus[current] += timestamp - cursor;
+                cursor = timestamp;
+                current = buffer.get(offset + 11);
+                transitions++;
+            }
+            lastSeen = timestamp;
+        }
+        // The current run is still going, so its last status holds until now
+        millisByStatus[current] += Math.max(0, Math.min(to, System.currentTimeMillis()) - cursor);
+        return new Object[] {millisByStatus, transitions};
+    }
+
+    // Status changes between from and to, oldest first; manager restarts appear as RESTART entries
+    public List<Map<String, Object>> getTimeline(String serviceName, long from, long to, int limit) {
+        Short service = serviceIndexes.get(serviceName);
+        if (service == null) return new ArrayList<>();
+        return consistentRead((start, end) -> scanTimeline(service, from, to, limit, start, end));
+    }
+
+    private List<Map<String, Object>> scanTimeline(short service, long from, long to, int limit, long start, long end) {
+        List<Map<String, Object>> timeline = new ArrayList<>();
+        for (long seq = firstAtOrAfter(from, start, end); seq < end && timeline.size() < limit; seq++) {
+            int offset = slotOffset(seq);
+            long timestamp = buffer.getLong(offset);
+            if (timestamp > to) break;
+            byte type = buffer.get(offset + 10);
+            if (type == TYPE_SESSION_START) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("timestamp", timestamp);
+                entry.put("event", "RESTART");
+                timeline.add(entry);
+            } else if (type == TYPE_TRANSITION && buffer.getShort(offset + 8) == service) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("timestamp", timestamp);
+                entry.put("event", "TRANSITION");
+                entry.put("from", STATUSES.get(buffer.get(offset + 12)));
+                entry.put("to", STATUSES.get(buffer.get(offset + 11)));
+                timeline.add(entry);
+            }
+        }
+        return timeline;
+    }
+
+    // Probe latency percentiles from a fixed-size log-linear histogram (about 1.5% precision)
+    public Map<String, Object> getLatency(String serviceName, long from, long to) {
+        Short service = serviceIndexes.get(serviceName);
+        LatencyHistogram histogram = service != null
+            ? consistentRead((start, end) -> scanLatency(service, from, to, start, end))
+            : new LatencyHistogram();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("service", serviceName);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("probes", histogram.count);
+        result.put("failedProbes", histogram.failed);
+        result.put("p50Ms", histogram.percentileMillis(0.50));
+        result.put("p90Ms", histogram.percentileMillis(0.90));
+        result.put("p99Ms", histogram.percentileMillis(0.99));
+        result.put("maxMs", histogram.count > 0 ? histogram.max / 1000.0 : null);
+        return result;
+    }
+
+    private LatencyHistogram scanLatency(short service, long from, long to, long start, long end) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long seq = firstAtOrAfter(from, start, end); seq < end; seq++) {
+            int offset = slotOffset(seq);
+            if (buffer.getLong(offset) > to) break;
+            if (buffer.get(offset + 10) != TYPE_PROBE || buffer.getShort(offset + 8) != service) continue;
+            histogram.add(buffer.getInt(offset + 16));
+            if (buffer.get(offset + 11) == 3) histogram.failed++;
+        }
+        return histogram;
+    }
+
+    // Runs a scan over the readable records [start, end) and repeats it if the writer began
+    // overwriting any of them meanwhile. Records below end are complete: written is published
+    // only after its record, and writing is published before a slot is reused.
+    private <T> T consistentRead(RangeScan<T> scan) {
+        while (true) {
+            long end = written;
+            long start = Math.max(0, end - capacity + Math.min(READ_MARGIN, capacity / 2));
+            T result = scan.read(start, end);
+            VarHandle.loadLoadFence();
+            if (writing < start + capacity) return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeScan<T> {
+        T read(long start, long end);
+    }
+
+    public List<String> getServiceNames() {
+        return new ArrayList<>(serviceIndexes.keySet());
+    }
+
+    private synchronized void append(short service, byte type, byte status, byte previous,
+                                     int latencyMicros, long filesProcessed) {
+        if (buffer == null) return;
+        // Keep the log ordered even if the wall clock steps back, so range lookups stay valid
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        // Readers learn the slot is being reused before any of it changes
+        writing = written;
+        VarHandle.storeStoreFence();
+        int offset = slotOffset(written);
+        buffer.putLong(offset, timestamp);
+        buffer.putShort(offset + 8, service);
+        buffer.put(offset + 10, type);
+        buffer.put(offset + 11, status);
+        buffer.put(offset + 12, previous);
+        buffer.putInt(offset + 16, latencyMicros);
+        buffer.putLong(offset + 20, filesProcessed);
+        // Publish the record only after it is fully written
+        buffer.putLong(WRITTEN_OFFSET, written + 1);
+        written = written + 1;
+        lastTimestamp = timestamp;
+    }
+
+    private synchronized Short indexOf(String serviceName) {
+        Short index = serviceIndexes.get(serviceName);
+        if (index != null || buffer == null) return index;
+        byte[] name = serviceName.getBytes(StandardCharsets.UTF_8);
+        if (serviceIndexes.size() >= MAX_SERVICES || name.length >= NAME_SLOT) return null;
+        short next = (short) serviceIndexes.size();
+        int offset = NAMES_OFFSET + next * NAME_SLOT;
+        buffer.put(offset, (byte) name.length);
+        buffer.put(offset + 1, name);
+        buffer.putInt(NAME_COUNT_OFFSET, next + 1);
+        serviceIndexes.put(serviceName, next);
+        return next;
+    }
+
+    private String readName(short index) {
+        int offset = NAMES_OFFSET + index * NAME_SLOT;
+        byte[] name = new byte[buffer.get(offset)];
+        buffer.get(offset + 1, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    // Status in force just before seq, found by walking back to the service's previous transition
+    private int statusAt(short service, long seq, long oldest) {
+        for (long s = seq - 1; s >= oldest; s--) {
+            int offset = slotOffset(s);
+            byte type = buffer.get(offset + 10);
+            if (type == TYPE_SESSION_START) return 0;
+            if (type == TYPE_TRANSITION && buffer.getShort(offset + 8) == service) return buffer.get(offset + 11);
+        }
+        return 0;
+    }
+
+    // First sequence number in [start, end) whose timestamp is >= from
+    private long firstAtOrAfter(long from, long start, long end) {
+        long low = start;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (buffer.getLong(slotOffset(mid)) < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slotOffset(long seq) {
+        return HEADER_SIZE + (int) (seq % capacity) * RECORD_SIZE;
+    }
+
+    private static byte statusCode(String status) {
+        int code = status != null ? STATUSES.indexOf(status) : 0;
+        return (byte) Math.max(code, 0);
+    }
+
+    private boolean isCompatible(Path file, long size) throws IOException {
+        if (Files.size(file) != size) return false;
+        try (FileChannel existing = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = existing.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT
+                && header.getInt(8) == RECORD_SIZE && header.getLong(16) == capacity;
+        }
+    }
+
+    // 64 linear sub-buckets per power of two of microseconds
+    private static class LatencyHistogram {
+        private static final int SUB_BUCKETS = 64;
+        private final long[] counts = new long[32 * SUB_BUCKETS];
+        private long count;
+        private long max;
+        private long failed;
+
+        void add(int micros) {
+            long value = Math.max(1, micros);
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int bucket = exponent < 6
+                ? (int) value
+                : exponent * SUB_BUCKETS + (int) ((value >>> (exponent - 6)) & (SUB_BUCKETS - 1));
+            counts[Math.min(bucket, counts.length - 1)]++;
+            count++;
+            max = Math.max(max, value);
+        }
+
+        Double percentileMillis(double quantile) {
+            if (count == 0) return null;
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) return Math.min(upperBound(bucket), max) / 1000.0;
+            }
+            return max / 1000.0;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int exponent = bucket / SUB_BUCKETS;
+            long sub = bucket % SUB_BUCKETS;
+            return ((SUB_BUCKETS + sub + 1) << (exponent - 6)) - 1;
+        }
+    }
+}
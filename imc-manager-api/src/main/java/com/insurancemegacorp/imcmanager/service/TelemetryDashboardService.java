@@ -0,0 +1,184 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Serves the telemetry dashboard's five imc-db-server queries as one cached response. The
+// queries run concurrently on a shared schedule while anyone is watching, so database load
+// stays at one round of queries per refresh however many dashboards are open. A query that
+// fails keeps its last good result and reports the failure under "errors".
+@Service
+public class TelemetryDashboardService {
+
+    @Autowired
+    private DiscoveryCache discoveryCache;
+
+    @Autowired
+    private UpstreamGateway upstreamGateway;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${imc-manager.telemetry.db-service:imc-db-server}")
+    private String dbService;
+
+    @Value("${imc-manager.telemetry.db-instance:db01}")
+    private String dbInstance;
+
+    @Value("${imc-manager.telemetry.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    // With no request for this long the schedule pauses; the next request refreshes first
+    @Value("${imc-manager.telemetry.idle-seconds:120}")
+    private long idleSeconds;
+
+    @Value("${imc-manager.telemetry.driver-limit:10}")
+    private int driverLimit;
+
+    @Value("${imc-manager.telemetry.event-limit:5}")
+    private int eventLimit;
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicReference<CompletableFuture<Snapshot>> loading = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+    private volatile long lastRequestAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        refresher.scheduleWithFixedDelay(() -> {
+            if (System.currentTimeMillis() - lastRequestAt < TimeUnit.SECONDS.toMillis(idleSeconds)) {
+                refresh();
+            }
+        }, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        queryExecutor.shutdownNow();
+    }
+
+    public Snapshot getSnapshot() {
+        long now = System.currentTimeMillis();
+        lastRequestAt = now;
+        Snapshot current = snapshot;
+        // Nothing yet, or the schedule was paused while nobody watched
+        if (current == null || now - current.refreshedAt > TimeUnit.SECONDS.toMillis(refreshSeconds * 2)) {
+            try {
+                current = refresh().join();
+            } catch (CompletionException e) {
+                if (current == null) throw e;
+            }
+        }
+        return current;
+    }
+
+    // Concurrent callers share one round of queries
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = loading.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+        try {
+            Snapshot next = load(snapshot);
+            snapshot = next;
+            mine.complete(next);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            loading.set(null);
+        }
+        return mine;
+    }
+
+    private Snapshot load(Snapshot previous) {
+        Map<String, String> queries = new LinkedHashMap<>();
+        String base = "/api/" + dbInstance;
+        queries.put("fleetSummary", base + "/fleet/summary");
+        queries.put("topPerformers", base + "/drivers/top-performers?limit=" + driverLimit);
+        queries.put("highRiskDrivers", base + "/drivers/high-risk?limit=" + driverLimit);
+        queries.put("mlModelInfo", base + "/ml/model-info");
+        queries.put("vehicleEvents", base + "/vehicle-events/high-gforce?limit=" + eventLimit);
+
+        String dbUrl = discoveryCache.getUrl(dbService);
+        Map<String, CompletableFuture<JsonNode>> pending = new LinkedHashMap<>();
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            pending.put(query.getKey(), dbUrl == null
+                ? CompletableFuture.failedFuture(new IllegalStateException(dbService + " is not registered"))
+                : CompletableFuture.supplyAsync(() -> upstreamGateway.read(dbUrl + query.getValue(),
+                    UpstreamGateway.CallProfile.READ, objectMapper::readTree), queryExecutor));
+        }
+
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<JsonNode>> query : pending.entrySet()) {
+            String name = query.getKey();
+            try {
+                results.put(name, query.getValue().join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                errors.put(name, cause.getMessage());
+                results.put(name, previous != null ? previous.results.get(name) : null);
+            }
+        }
+
+        // The version, and so the ETag, only moves when some query's answer actually changed
+        long refreshedAt = System.currentTimeMillis();
+        if (previous != null && results.equals(previous.results) && errors.equals(previous.errors)) {
+            return new Snapshot(previous.version, refreshedAt, results, errors, previous.body);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("dbInstance", dbInstance);
+        body.put("changedAt", refreshedAt);
+        body.put("refreshSeconds", refreshSeconds);
+        body.putAll(results);
+        body.put("errors", errors);
+        try {
+            long version = previous != null ? previous.version + 1 : 1;
+            return new Snapshot(version, refreshedAt, results, errors, objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize telemetry dashboard", e);
+        }
+    }
+
+    // One refresh round, serialized once and shared by every request until the next round
+    public static class Snapshot {
+        private final long version;
+        private final long refreshedAt;
+        private final Map<String, JsonNode> results;
+        private final Map<String, String> errors;
+        private final byte[] body;
+
+        Snapshot(long version, long refreshedAt, Map<String, JsonNode> results, Map<String, String> errors,
+                 byte[] body) {
+            this.version = version;
+            this.refreshedAt = refreshedAt;
+            this.results = results;
+            this.errors = errors;
+            this.body = body;
+        }
+
+        public long getVersion() { return version; }
+        public long getRefreshedAt() { return refreshedAt; }
+        public byte[] getBody() { return body; }
+    }
+}
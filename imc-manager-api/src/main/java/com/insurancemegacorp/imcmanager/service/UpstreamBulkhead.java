@@ -0,0 +1,46 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Caps how many calls may be in flight to one upstream instance at a time, keyed like the
+// breakers by scheme://host:port. Request threads are virtual and cheap, so without a cap a
+// burst of dashboard traffic would turn straight into a burst of sockets against one service.
+@Component
+public class UpstreamBulkhead {
+
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+
+    public UpstreamBulkhead(
+            @Value("${imc-manager.upstream.max-concurrent-per-instance:16}") int maxConcurrent,
+            @Value("${imc-manager.upstream.max-wait-ms:250}") long maxWaitMs) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    // Waits up to max-wait-ms for a slot; false means the instance is saturated
+    public boolean tryAcquire(String url) {
+        Semaphore semaphore = permitsFor(url);
+        try {
+            return semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release(String url) {
+        permitsFor(url).release();
+    }
+
+    private Semaphore permitsFor(String url) {
+        return permits.computeIfAbsent(CircuitBreakerRegistry.originOf(url), key -> new Semaphore(maxConcurrent));
+    }
+}
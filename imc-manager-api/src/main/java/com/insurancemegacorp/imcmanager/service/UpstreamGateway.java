@@ -0,0 +1,152 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class UpstreamGateway {
+
+    // Read deadlines differ per kind of upstream call; all profiles share one connection pool
+    public enum CallProfile { PROBE, READ, LISTING, CONTROL }
+
+    private final Map<CallProfile, RestTemplate> templates = new EnumMap<>(CallProfile.class);
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final UpstreamBulkhead bulkhead;
+    private final UpstreamMetrics upstreamMetrics;
+
+    public UpstreamGateway(
+            CircuitBreakerRegistry circuitBreakers,
+            UpstreamBulkhead bulkhead,
+            UpstreamMetrics upstreamMetrics,
+            @Value("${imc-manager.upstream.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${imc-manager.upstream.read-timeout-ms.probe:3000}") long probeTimeoutMs,
+            @Value("${imc-manager.upstream.read-timeout-ms.read:5000}") long readTimeoutMs,
+            @Value("${imc-manager.upstream.read-timeout-ms.listing:15000}") long listingTimeoutMs,
+            @Value("${imc-manager.upstream.read-timeout-ms.control:10000}") long controlTimeoutMs) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkhead = bulkhead;
+        this.upstreamMetrics = upstreamMetrics;
+
+        // The JDK client keeps idle HTTP/1.1 connections alive and reuses them across requests
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .build();
+
+        templates.put(CallProfile.PROBE, createTemplate(httpClient, probeTimeoutMs));
+        templates.put(CallProfile.READ, createTemplate(httpClient, readTimeoutMs));
+        templates.put(CallProfile.LISTING, createTemplate(httpClient, listingTimeoutMs));
+        templates.put(CallProfile.CONTROL, createTemplate(httpClient, controlTimeoutMs));
+    }
+
+    private static RestTemplate createTemplate(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+
+    public <T> ResponseEntity<T> get(String url, CallProfile profile, Class<T> responseType) {
+        return guarded(HttpMethod.GET, url, profile, () -> templates.get(profile).getForEntity(url, responseType));
+    }
+
+    // Hands a successful response body to the reader as a stream instead of binding it to objects
+    public <T> T read(String url, CallProfile profile, BodyReader<T> reader) {
+        return guarded(HttpMethod.GET, url, profile, () -> templates.get(profile).execute(url, HttpMethod.GET, null,
+            upstream -> reader.read(upstream.getBody())));
+    }
+
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    public <T> ResponseEntity<T> post(String url, CallProfile profile, Class<T> responseType) {
+        return guarded(HttpMethod.POST, url, profile, () -> templates.get(profile).postForEntity(url, null, responseType));
+    }
+
+    // Every upstream call goes through the instance's breaker and bulkhead: when the breaker is
+    // open it fails at once with CircuitOpenException, and when too many calls are already in
+    // flight it fails with UpstreamSaturatedException, instead of tying up a thread and a socket.
+    // The breaker is asked first so an open circuit never waits for a bulkhead slot. Each call,
+    // or refusal, is also recorded in the upstream metrics.
+    private <T> T guarded(HttpMethod method, String url, CallProfile profile, Supplier<T> call) {
+        CircuitBreaker breaker = circuitBreakers.forUrl(url);
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            upstreamMetrics.rejected(method.name(), url, "CIRCUIT_OPEN");
+            throw new CircuitOpenException(breaker.getUpstream());
+        }
+        if (!bulkhead.tryAcquire(url)) {
+            // The call never reached the instance, so it says nothing about its health
+            breaker.release(permit);
+            upstreamMetrics.rejected(method.name(), url, "SATURATED");
+            throw new UpstreamSaturatedException(CircuitBreakerRegistry.originOf(url));
+        }
+        try {
+            return call(breaker, permit, circuitBreakers.slowCallMs(profile), method, url, call);
+        } finally {
+            bulkhead.release(url);
+        }
+    }
+
+    private <T> T call(CircuitBreaker breaker, long permit, long slowCallMs, HttpMethod method, String url,
+                       Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            long elapsed = System.nanoTime() - start;
+            breaker.onSuccess(permit, elapsed / 1_000_000, slowCallMs);
+            upstreamMetrics.record(method.name(), url, elapsed, null);
+            return result;
+        } catch (HttpClientErrorException e) {
+            // A 4xx means the instance is up and answering
+            long elapsed = System.nanoTime() - start;
+            breaker.onSuccess(permit, elapsed / 1_000_000, slowCallMs);
+            upstreamMetrics.record(method.name(), url, elapsed, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            breaker.onFailure(permit, e.getMessage());
+            upstreamMetrics.record(method.name(), url, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    // Copies a successful upstream response body straight to the servlet response without
+    // deserializing it. Returns false, with nothing written, when the upstream body is empty.
+    public boolean stream(HttpMethod method, String url, CallProfile profile, HttpServletResponse target) {
+        Boolean streamed = guarded(method, url, profile, () -> templates.get(profile).execute(url, method, null, upstream -> {
+            HttpHeaders headers = upstream.getHeaders();
+            if (headers.getContentLength() == 0) {
+                return false;
+            }
+            target.setStatus(upstream.getStatusCode().value());
+            if (headers.getContentType() != null) {
+                target.setContentType(headers.getContentType().toString());
+            }
+            try {
+                StreamUtils.copy(upstream.getBody(), target.getOutputStream());
+                target.flushBuffer();
+            } catch (IOException e) {
+                // Client went away mid-copy; the response is already committed
+            }
+            return true;
+        }));
+        return Boolean.TRUE.equals(streamed);
+    }
+}
@@ -0,0 +1,81 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+// Times every upstream call tagged by service, instance, endpoint, method and outcome so slow
+// dashboards can be traced to the upstream (or instance) responsible. Percentile histograms
+// are switched on per meter in application.yml.
+@Component
+public class UpstreamMetrics {
+
+    public static final String REQUESTS = "imc.upstream.requests";
+    public static final String REJECTED = "imc.upstream.rejected";
+
+    private final MeterRegistry meterRegistry;
+    private final DiscoveryCache discoveryCache;
+
+    public UpstreamMetrics(MeterRegistry meterRegistry, DiscoveryCache discoveryCache) {
+        this.meterRegistry = meterRegistry;
+        this.discoveryCache = discoveryCache;
+    }
+
+    public void record(String method, String url, long elapsedNanos, Throwable error) {
+        DiscoveryCache.CachedInstance instance = discoveryCache.findByUrl(url);
+        Timer.builder(REQUESTS)
+            .description("Calls from the manager to pipeline services")
+            .tag("service", instance != null ? instance.getServiceName() : "unregistered")
+            .tag("instance", instance != null ? instance.getInstanceId() : CircuitBreakerRegistry.originOf(url))
+            .tag("endpoint", endpointOf(url))
+            .tag("method", method)
+            .tag("outcome", outcomeOf(error))
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Calls refused without touching the network, because the instance's breaker is open
+    // (CIRCUIT_OPEN) or it already has as many calls in flight as allowed (SATURATED)
+    public void rejected(String method, String url, String reason) {
+        DiscoveryCache.CachedInstance instance = discoveryCache.findByUrl(url);
+        Counter.builder(REJECTED)
+            .description("Upstream calls refused by an open circuit breaker or a full bulkhead")
+            .tag("service", instance != null ? instance.getServiceName() : "unregistered")
+            .tag("instance", instance != null ? instance.getInstanceId() : CircuitBreakerRegistry.originOf(url))
+            .tag("endpoint", endpointOf(url))
+            .tag("method", method)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    static String outcomeOf(Throwable error) {
+        if (error == null) return "SUCCESS";
+        if (error instanceof HttpClientErrorException) return "CLIENT_ERROR";
+        if (error instanceof HttpServerErrorException) return "SERVER_ERROR";
+        if (error instanceof ResourceAccessException) {
+            Throwable cause = error.getCause();
+            return cause instanceof HttpTimeoutException || cause instanceof SocketTimeoutException
+                ? "TIMEOUT" : "IO_ERROR";
+        }
+        return "ERROR";
+    }
+
+    private static String endpointOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+    }
+}
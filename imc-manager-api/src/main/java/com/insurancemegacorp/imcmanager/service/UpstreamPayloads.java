@@ -0,0 +1,191 @@
+package com.insurancemegacorp.imcmanager.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+
+// Turns upstream pipeline payloads into the shapes the manager keeps and the dashboard expects.
+// The hot payloads are read straight off the token stream: only the fields that matter are
+// decoded and everything else is skipped, so garbage stays flat as upstream payloads grow.
+public final class UpstreamPayloads {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private UpstreamPayloads() {
+    }
+
+    // /api/processing/state -> the instance's probe result
+    public static ServiceRegistryService.InstanceStatus readInstanceStatus(String instanceId, String url,
+                                                                           InputStream body) throws IOException {
+        boolean enabled = false;
+        Double processingRate = null;
+        Long filesProcessed = null;
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from " + url);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "enabled", "processing" -> enabled |= value == JsonToken.VALUE_TRUE;
+                    case "processingRate" -> processingRate = value.isNumeric() ? parser.getDoubleValue() : null;
+                    case "filesProcessed" -> filesProcessed = value.isNumeric() ? parser.getValueAsLong() : null;
+                    default -> { }
+                }
+                // Objects and arrays are skipped without being decoded; scalars are already consumed
+                parser.skipChildren();
+            }
+        }
+        return new ServiceRegistryService.InstanceStatus(
+            instanceId,
+            url,
+            enabled ? "STARTED" : "STOPPED",
+            new Date(),
+            processingRate,
+            filesProcessed
+        );
+    }
+
+    // Spring Boot /actuator/health -> the instance's probe result; only the top-level status is read
+    public static ServiceRegistryService.InstanceStatus readHealthStatus(String instanceId, String url,
+                                                                         InputStream body) throws IOException {
+        String health = null;
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from " + url);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("status".equals(field) && value == JsonToken.VALUE_STRING) {
+                    health = parser.getText();
+                }
+                parser.skipChildren();
+            }
+        }
+        String status = switch (health != null ? health : "UNKNOWN") {
+            case "UP" -> "STARTED";
+            case "OUT_OF_SERVICE" -> "STOPPED";
+            case "DOWN" -> "ERROR";
+            default -> "UNKNOWN";
+        };
+        return new ServiceRegistryService.InstanceStatus(instanceId, url, status, new Date(), null, null);
+    }
+
+    // Catalog "processed" endpoint -> the instance's progress counters. textProc's /api/files/processed
+    // is a bare array that only gives the file count; embedProc's /api/processing/files-processed is
+    // an object with filesProcessed and filesTotal. Counters the body does not carry stay unknown (null).
+    public static PipelineProgressService.Counters readProcessedCounters(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                return new PipelineProgressService.Counters(countEntries(parser), null, null);
+            }
+            if (first != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON array of processed files or an object of counts");
+            }
+            return readCounterFields(parser);
+        }
+    }
+
+    // /api/processing/state -> the instance's progress counters; apps name the chunk count either
+    // way, and a counter the body does not carry stays unknown (null) rather than reading as 0
+    public static PipelineProgressService.Counters readProgressCounters(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object of processing state");
+            }
+            return readCounterFields(parser);
+        }
+    }
+
+    private static PipelineProgressService.Counters readCounterFields(JsonParser parser) throws IOException {
+        Long filesProcessed = null;
+        Long filesTotal = null;
+        Long chunksProcessed = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isNumeric()) {
+                switch (field) {
+                    case "filesProcessed" -> filesProcessed = parser.getValueAsLong();
+                    case "filesTotal", "totalFiles" -> filesTotal = parser.getValueAsLong();
+                    case "chunksProcessed", "processedChunks" -> chunksProcessed = parser.getValueAsLong();
+                    default -> { }
+                }
+            }
+            parser.skipChildren();
+        }
+        return new PipelineProgressService.Counters(filesProcessed, filesTotal, chunksProcessed);
+    }
+
+    // embedProc /api/processing/files-processed -> processed-files response
+    public static Map<String, Object> embedProcessedFiles(Map<String, Object> embedProcData) {
+        // Extract filesProcessed from embedProc response
+        Object filesProcessedObj = embedProcData.get("filesProcessed");
+        int filesProcessed = (filesProcessedObj instanceof Number) ?
+            ((Number) filesProcessedObj).intValue() : 0;
+
+        // Return in the format expected by the frontend
+        return Map.of(
+            "files", new ArrayList<>(),
+            "processedCount", filesProcessed,
+            "filesTotal", embedProcData.get("filesTotal"),
+            "timestamp", embedProcData.get("timestamp")
+        );
+    }
+
+    // textProc /api/files/processed (a bare array) -> number of entries, without decoding them
+    public static long countProcessedFiles(InputStream body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            expectArray(parser);
+            return countEntries(parser);
+        }
+    }
+
+    // Counts the entries of an array whose start has just been read
+    private static long countEntries(JsonParser parser) throws IOException {
+        long count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            count++;
+        }
+        return count;
+    }
+
+    // textProc /api/files/processed -> {"files": [...], "processedCount": n} as JSON bytes. Entries
+    // are copied token by token, so the list is never materialized as objects.
+    public static byte[] copyProcessedFiles(InputStream body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonParser parser = JSON.createParser(body);
+             JsonGenerator generator = JSON.createGenerator(out)) {
+            expectArray(parser);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("files");
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                generator.copyCurrentStructure(parser);
+                count++;
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("processedCount", count);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static void expectArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of processed files");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.insurancemegacorp.imcmanager.service;
+
+public class UpstreamSaturatedException extends RuntimeException {
+
+    private final String upstream;
+
+    public UpstreamSaturatedException(String upstream) {
+        super("Too many calls in flight to " + upstream + "; try again shortly");
+        this.upstream = upstream;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+}
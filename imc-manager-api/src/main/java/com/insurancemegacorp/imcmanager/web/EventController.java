@@ -0,0 +1,60 @@
+package com.insurancemegacorp.imcmanager.web;
+
+import com.insurancemegacorp.imcmanager.service.LiveStatusStore;
+import com.insurancemegacorp.imcmanager.service.PipelineEvent;
+import com.insurancemegacorp.imcmanager.service.PipelineEventIngestor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Ingress for the pipeline apps' own events, and the live state derived from them
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private PipelineEventIngestor pipelineEventIngestor;
+
+    @Autowired
+    private LiveStatusStore liveStatusStore;
+
+    @Value("${imc-manager.events.max-batch:500}")
+    private int maxBatch;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> ingest(@RequestBody PipelineEvent event) {
+        return ResponseEntity.accepted().body(summary(List.of(event)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> ingestBatch(@RequestBody List<PipelineEvent> events) {
+        if (events.size() > maxBatch) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most " + maxBatch + " events per batch"));
+        }
+        return ResponseEntity.accepted().body(summary(events));
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<List<LiveStatusStore.LiveState>> getLiveStates() {
+        return ResponseEntity.ok(liveStatusStore.getStates());
+    }
+
+    private Map<String, Object> summary(List<PipelineEvent> events) {
+        Map<PipelineEventIngestor.Outcome, Integer> counts = new EnumMap<>(PipelineEventIngestor.Outcome.class);
+        for (PipelineEvent event : events) {
+            counts.merge(pipelineEventIngestor.ingest(event), 1, Integer::sum);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (PipelineEventIngestor.Outcome outcome : PipelineEventIngestor.Outcome.values()) {
+            body.put(outcome.name().toLowerCase(Locale.ROOT), counts.getOrDefault(outcome, 0));
+        }
+        return body;
+    }
+}
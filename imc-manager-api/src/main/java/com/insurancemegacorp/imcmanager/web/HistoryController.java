@@ -0,0 +1,86 @@
+package com.insurancemegacorp.imcmanager.web;
+
+import com.insurancemegacorp.imcmanager.service.StatusHistoryStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Status history per service. The range is either from/to (epoch ms) or the last `hours`.
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    @Autowired
+    private StatusHistoryStore statusHistory;
+
+    @Value("${imc-manager.history.max-timeline-entries:1000}")
+    private int maxTimelineEntries;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getUptimeForAll(@RequestParam(defaultValue = "24") double hours,
+                                                               @RequestParam(required = false) Long from,
+                                                               @RequestParam(required = false) Long to) {
+        long[] range = range(hours, from, to);
+        Map<String, Object> services = new LinkedHashMap<>();
+        for (String serviceName : statusHistory.getServiceNames()) {
+            services.put(serviceName, statusHistory.getUptime(serviceName, range[0], range[1]));
+        }
+        return ResponseEntity.ok(Map.of("from", range[0], "to", range[1], "services", services));
+    }
+
+    @GetMapping("/{serviceName}/uptime")
+    public ResponseEntity<Map<String, Object>> getUptime(@PathVariable String serviceName,
+                                                         @RequestParam(defaultValue = "24") double hours,
+                                                         @RequestParam(required = false) Long from,
+                                                         @RequestParam(required = false) Long to) {
+        long[] range = range(hours, from, to);
+        return ResponseEntity.ok(statusHistory.getUptime(serviceName, range[0], range[1]));
+    }
+
+    @GetMapping("/{serviceName}/timeline")
+    public ResponseEntity<Map<String, Object>> getTimeline(@PathVariable String serviceName,
+                                                           @RequestParam(defaultValue = "24") double hours,
+                                                           @RequestParam(required = false) Long from,
+                                                           @RequestParam(required = false) Long to,
+                                                           @RequestParam(required = false) Integer limit) {
+        long[] range = range(hours, from, to);
+        int max = limit != null && limit > 0 ? Math.min(limit, maxTimelineEntries) : maxTimelineEntries;
+        List<Map<String, Object>> timeline = statusHistory.getTimeline(serviceName, range[0], range[1], max);
+        return ResponseEntity.ok(Map.of(
+            "service", serviceName,
+            "from", range[0],
+            "to", range[1],
+            "entries", timeline,
+            "truncated", timeline.size() == max
+        ));
+    }
+
+    @GetMapping("/{serviceName}/latency")
+    public ResponseEntity<Map<String, Object>> getLatency(@PathVariable String serviceName,
+                                                          @RequestParam(defaultValue = "24") double hours,
+                                                          @RequestParam(required = false) Long from,
+                                                          @RequestParam(required = false) Long to) {
+        long[] range = range(hours, from, to);
+        return ResponseEntity.ok(statusHistory.getLatency(serviceName, range[0], range[1]));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> badRange(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private static long[] range(double hours, Long from, Long to) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - (long) (hours * TimeUnit.HOURS.toMillis(1));
+        if (start > end) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return new long[] {start, end};
+    }
+}
@@ -0,0 +1,21 @@
+package com.insurancemegacorp.imcmanager.web;
+
+import com.insurancemegacorp.imcmanager.service.MetricsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(metricsService.getMetrics());
+    }
+}
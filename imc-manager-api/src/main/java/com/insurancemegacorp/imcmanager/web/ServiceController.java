@@ -1,13 +1,30 @@
 package com.insurancemegacorp.imcmanager.web;
 
+import com.insurancemegacorp.imcmanager.service.CircuitBreaker;
+import com.insurancemegacorp.imcmanager.service.CircuitBreakerRegistry;
+import com.insurancemegacorp.imcmanager.service.FileCatalogService;
+import com.insurancemegacorp.imcmanager.service.PipelineProgressService;
+import com.insurancemegacorp.imcmanager.service.PipelineRestartOrchestrator;
+import com.insurancemegacorp.imcmanager.service.ResponseCache;
+import com.insurancemegacorp.imcmanager.service.ServiceCatalog;
 import com.insurancemegacorp.imcmanager.service.ServiceRegistryService;
+import com.insurancemegacorp.imcmanager.service.UpstreamGateway;
+import com.insurancemegacorp.imcmanager.service.UpstreamPayloads;
+import com.insurancemegacorp.imcmanager.service.UpstreamSaturatedException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,360 +32,448 @@ import java.util.Map;
 @RequestMapping("/api/services")
 public class ServiceController {
 
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     @Autowired
     private ServiceRegistryService serviceRegistryService;
 
+    @Autowired
+    private UpstreamGateway upstreamGateway;
+
+    @Autowired
+    private FileCatalogService fileCatalogService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private PipelineRestartOrchestrator pipelineRestartOrchestrator;
+
+    @Autowired
+    private PipelineProgressService pipelineProgressService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @Value("${imc-manager.cache.ttl-ms.state:2000}")
+    private long stateTtlMs;
+
+    @Value("${imc-manager.cache.ttl-ms.processed:5000}")
+    private long processedTtlMs;
+
+    private volatile OverviewSnapshot overviewSnapshot;
+
+    // Every catalog service, or with pipeline set (rag, telemetry) only that pipeline's services
     @GetMapping
-    public ResponseEntity<List<ServiceRegistryService.ServiceInfo>> getServices() {
-        return ResponseEntity.ok(serviceRegistryService.getAvailableServices());
+    public ResponseEntity<List<ServiceRegistryService.ServiceInfo>> getServices(@RequestParam(required = false) String pipeline) {
+        return ResponseEntity.ok(pipeline != null
+            ? serviceRegistryService.getAvailableServices(pipeline)
+            : serviceRegistryService.getAvailableServices());
+    }
+
+    @GetMapping("/circuits")
+    public ResponseEntity<List<CircuitBreaker>> getCircuits() {
+        return ResponseEntity.ok(circuitBreakers.getBreakers());
     }
 
     @GetMapping("/{serviceName}/status")
-    public ResponseEntity<ServiceRegistryService.ServiceStatus> getServiceStatus(@PathVariable String serviceName) {
+    public ResponseEntity<ServiceRegistryService.ServiceStatus> getServiceStatus(@PathVariable String serviceName,
+                                                                                WebRequest request) {
+        String etag = VersionedETags.of("status-" + serviceName, serviceRegistryService.getServiceVersion(serviceName));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ServiceRegistryService.ServiceStatus status = serviceRegistryService.getServiceStatus(serviceName);
         if (status != null) {
-            return ResponseEntity.ok(status);
+            return ResponseEntity.ok().eTag(etag).body(status);
         }
         return ResponseEntity.notFound().build();
     }
 
+    // instanceId picks one instance of a scaled service; without it the first registered one answers
     @GetMapping("/{serviceName}/state")
-    public ResponseEntity<Map<String, Object>> getServiceState(@PathVariable String serviceName) {
-        Map<String, Object> state = serviceRegistryService.getServiceState(serviceName);
-        return ResponseEntity.ok(state);
+    public ResponseEntity<Map<String, Object>> getServiceState(@PathVariable String serviceName,
+                                                               @RequestParam(required = false) String instanceId,
+                                                               WebRequest request) {
+        Map<String, Object> state = responseCache.get(ResponseCache.key("state", serviceName, instanceId), stateTtlMs,
+            () -> serviceRegistryService.getServiceState(serviceName, instanceId));
+        // Upstream state has no version of its own, so its content hash serves as one
+        String etag = "\"state-" + serviceName + (instanceId != null ? "@" + instanceId : "")
+            + "-" + Integer.toHexString(state.hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(state);
     }
 
     @PostMapping("/{serviceName}/start")
     public ResponseEntity<Map<String, Object>> startService(@PathVariable String serviceName) {
-        boolean success = serviceRegistryService.startService(serviceName);
-        if (success) {
-            return ResponseEntity.ok(Map.of("status", "success", "message", "Service started successfully"));
-        } else {
-            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Failed to start service"));
-        }
+        return controlResponse(serviceRegistryService.startService(serviceName),
+            "Service started successfully", "Failed to start service");
     }
 
     @PostMapping("/{serviceName}/stop")
     public ResponseEntity<Map<String, Object>> stopService(@PathVariable String serviceName) {
-        boolean success = serviceRegistryService.stopService(serviceName);
-        if (success) {
-            return ResponseEntity.ok(Map.of("status", "success", "message", "Service stopped successfully"));
-        } else {
-            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Failed to stop service"));
-        }
+        return controlResponse(serviceRegistryService.stopService(serviceName),
+            "Service stopped successfully", "Failed to stop service");
     }
 
     @PostMapping("/{serviceName}/toggle")
     public ResponseEntity<Map<String, Object>> toggleService(@PathVariable String serviceName) {
-        boolean success = serviceRegistryService.toggleService(serviceName);
-        if (success) {
-            return ResponseEntity.ok(Map.of("status", "success", "message", "Service toggled successfully"));
-        } else {
-            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Failed to toggle service"));
+        return controlResponse(serviceRegistryService.toggleService(serviceName),
+            "Service toggled successfully", "Failed to toggle service");
+    }
+
+    // Success only if every instance succeeded; otherwise the first failing instance's cause is reported
+    private static ResponseEntity<Map<String, Object>> controlResponse(List<ServiceRegistryService.ControlResult> results,
+                                                                       String successMessage, String failureMessage) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (ServiceRegistryService.allSucceeded(results)) {
+            body.put("status", "success");
+            body.put("message", successMessage);
+            body.put("results", results);
+            return ResponseEntity.ok(body);
         }
+        String cause = results.stream()
+            .filter(result -> !"SUCCEEDED".equals(result.getOutcome()))
+            .map(result -> result.getInstanceId() != null
+                ? result.getInstanceId() + ": " + result.getMessage() : result.getMessage())
+            .findFirst()
+            .orElse("No registered instance");
+        body.put("status", "error");
+        body.put("message", failureMessage + " (" + cause + ")");
+        body.put("results", results);
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    // Body: {"action": "start|stop|toggle", "services": [...], "targets": [{"service", "instanceId"}], "deadlineMs"}.
+    // Answers 200 when every target succeeded, otherwise 207 with the per-target outcomes.
+    @PostMapping("/control")
+    public ResponseEntity<Map<String, Object>> controlBulk(@RequestBody BulkControlRequest request) {
+        String action = request.getAction();
+        if (!"start".equals(action) && !"stop".equals(action) && !"toggle".equals(action)) {
+            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "action must be start, stop or toggle"));
+        }
+        List<ServiceRegistryService.ControlTarget> targets = new ArrayList<>();
+        if (request.getServices() != null) {
+            request.getServices().forEach(service -> targets.add(new ServiceRegistryService.ControlTarget(service, null)));
+        }
+        if (request.getTargets() != null) {
+            targets.addAll(request.getTargets());
+        }
+        if (targets.isEmpty() || targets.stream().anyMatch(t -> t.getService() == null)) {
+            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "At least one service or target is required"));
+        }
+
+        List<ServiceRegistryService.ControlResult> results =
+            serviceRegistryService.controlBulk(action, targets, request.getDeadlineMs());
+        long succeeded = results.stream().filter(r -> "SUCCEEDED".equals(r.getOutcome())).count();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", succeeded == results.size() ? "success" : succeeded > 0 ? "partial" : "error");
+        body.put("action", action);
+        body.put("succeeded", succeeded);
+        body.put("failed", results.size() - succeeded);
+        body.put("results", results);
+        return ResponseEntity.status(succeeded == results.size() ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(body);
     }
 
     @GetMapping("/rag-pipeline/overview")
-    public ResponseEntity<Map<String, Object>> getRAGPipelineOverview() {
-        List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-        
-        long activeServices = services.stream()
-            .filter(s -> "STARTED".equals(s.getStatus()))
-            .count();
+    public ResponseEntity<Map<String, Object>> getRAGPipelineOverview(@RequestParam(required = false) Long sinceVersion,
+                                                                      WebRequest request) {
+        // Read the version before building so a body is never labelled newer than its content
+        long version = serviceRegistryService.getContentVersion();
+        if (sinceVersion != null) {
+            return ResponseEntity.ok(serviceRegistryService.buildOverview(version, sinceVersion));
+        }
         
-        long totalServices = services.size();
-        String overallStatus = activeServices == totalServices ? "HEALTHY" : 
-                             activeServices > totalServices / 2 ? "DEGRADED" : "CRITICAL";
+        String etag = VersionedETags.of("overview", version);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(Map.of(
-            "totalServices", totalServices,
-            "activeServices", activeServices,
-            "overallStatus", overallStatus,
-            "services", services
-        ));
+        // Rebuilt only when the content version moves; idle polls reuse the same body
+        OverviewSnapshot snapshot = overviewSnapshot;
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = new OverviewSnapshot(version, serviceRegistryService.buildOverview(version, null));
+            overviewSnapshot = snapshot;
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.body);
+    }
+
+    // Per-stage counts, backlog and files/chunks per minute, plus the bottleneck stage and ETA
+    @GetMapping("/rag-pipeline/progress")
+    public ResponseEntity<Map<String, Object>> getRAGPipelineProgress() {
+        try {
+            return ResponseEntity.ok(pipelineProgressService.getProgress());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Error getting pipeline progress: " + e.getMessage()));
+        }
     }
 
     @GetMapping("/{serviceName}/files")
-    public ResponseEntity<Map<String, Object>> getServiceFiles(@PathVariable String serviceName) {
+    public ResponseEntity<Map<String, Object>> getServiceFiles(@PathVariable String serviceName,
+                                                               @RequestParam(required = false) String instanceId,
+                                                               @RequestParam(required = false) String state,
+                                                               @RequestParam(required = false) String sort,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) Long sinceVersion,
+                                                               HttpServletResponse servletResponse) {
         try {
-            // Get the service URL from service registry
-            List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-            ServiceRegistryService.ServiceInfo service = services.stream()
-                .filter(s -> serviceName.equals(s.getName()))
-                .findFirst()
-                .orElse(null);
-                
-            if (service == null || service.getUrl() == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+            // The mirrored file catalog (hdfsWatcher's) is served locally once it has synced
+            if (serviceName.equals(fileCatalogService.getServiceName()) && instanceId == null && fileCatalogService.isSynced()) {
+                if (sinceVersion != null) {
+                    return ResponseEntity.ok(fileCatalogService.getDelta(sinceVersion));
+                }
+                return ResponseEntity.ok(fileCatalogService.getPage(state, sort, cursor, limit));
             }
             
-            // Proxy the request to the actual service
-            org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-            ResponseEntity<Map<String, Object>> response = restTemplate.getForEntity(
-                service.getUrl() + "/api/files", 
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
+            String serviceUrl = serviceRegistryService.getInstanceUrl(serviceName, instanceId);
+            if (serviceUrl == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+            }
+            String filesPath = serviceCatalog.find(serviceName).getEndpoint("files");
+            if (filesPath == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "No file listing for service: " + serviceName));
+            }
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return ResponseEntity.ok(response.getBody());
-            } else {
-                return ResponseEntity.badRequest().body(Map.of("error", "Failed to fetch files from service"));
+            // Stream the listing from the actual service straight through to the client
+            if (upstreamGateway.stream(HttpMethod.GET, serviceUrl + filesPath,
+                    UpstreamGateway.CallProfile.LISTING, servletResponse)) {
+                return null;
             }
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to fetch files from service"));
+        } catch (UpstreamSaturatedException e) {
+            return saturated(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error fetching files: " + e.getMessage()));
         }
     }
 
+    // Every instance clears its processed flags (or only instanceId's); clearedCount is their sum
     @PostMapping("/{serviceName}/reprocess")
-    public ResponseEntity<Map<String, Object>> reprocessFiles(@PathVariable String serviceName) {
-        try {
-            // Get the service URL from service registry
-            List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-            ServiceRegistryService.ServiceInfo service = services.stream()
-                .filter(s -> serviceName.equals(s.getName()))
-                .findFirst()
-                .orElse(null);
-                
-            if (service == null || service.getUrl() == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
-            }
-            
-            // For hdfsWatcher, we need to use the reprocess-all endpoint for simplicity
-            // This stops processing and clears all processed flags
-            org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                service.getUrl() + "/api/reprocess-all", 
-                null,
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return ResponseEntity.ok(response.getBody());
-            } else {
-                return ResponseEntity.badRequest().body(Map.of("error", "Failed to reprocess files"));
+    public ResponseEntity<Map<String, Object>> reprocessFiles(@PathVariable String serviceName,
+                                                              @RequestParam(required = false) String instanceId) {
+        ServiceCatalog.ServiceDefinition service = serviceCatalog.find(serviceName);
+        if (service == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+        }
+        if (service.getEndpoint("reprocess") == null) {
+            return unsupported(service, "Reprocess", "reprocessing files");
+        }
+        // hdfsWatcher's reprocess-all stops processing and clears all processed flags
+        List<ServiceRegistryService.ControlResult> results =
+            serviceRegistryService.postToInstances(serviceName, instanceId, "reprocess", service.getEndpoint("reprocess"));
+        if (results.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+        }
+        if (service.getName().equals(fileCatalogService.getServiceName())) {
+            fileCatalogService.requestSync();
+        }
+
+        long clearedCount = 0;
+        for (ServiceRegistryService.ControlResult result : results) {
+            if (result.getResponse() != null && result.getResponse().get("clearedCount") instanceof Number cleared) {
+                clearedCount += cleared.longValue();
             }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Error reprocessing files: " + e.getMessage()));
         }
+        Map<String, Object> body = fanOutBody(results, "Failed to reprocess files");
+        body.put("clearedCount", clearedCount);
+        return fanOutResponse(results, body);
     }
 
     @PostMapping("/{serviceName}/processing/reset")
-    public ResponseEntity<Map<String, Object>> resetProcessing(@PathVariable String serviceName) {
+    public ResponseEntity<Map<String, Object>> resetProcessing(@PathVariable String serviceName,
+                                                               @RequestParam(required = false) String instanceId) {
+        // Only services whose catalog entry has a reset endpoint (textProc, hdfsWatcher) support it
+        ServiceCatalog.ServiceDefinition service = serviceCatalog.find(serviceName);
+        if (service == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+        }
+        if (service.getEndpoint("reset") == null) {
+            return unsupported(service, "Reset", "processing reset");
+        }
+
+        // Proxy the reset request to every instance of the actual service
+        List<ServiceRegistryService.ControlResult> results =
+            serviceRegistryService.postToInstances(serviceName, instanceId, "reset", service.getEndpoint("reset"));
+        if (results.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
+        }
+        return fanOutResponse(results, fanOutBody(results, "Failed to reset processing"));
+    }
+
+    private static ResponseEntity<Map<String, Object>> unsupported(ServiceCatalog.ServiceDefinition service,
+                                                                   String operation, String description) {
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", operation + " not supported",
+            "message", service.getDisplayName() + " does not support the " + description + " operation",
+            "supportedOperations", Arrays.asList("start", "stop", "toggle")
+        ));
+    }
+
+    // Per-instance results, plus an error naming the first failing instance if any failed
+    private static Map<String, Object> fanOutBody(List<ServiceRegistryService.ControlResult> results,
+                                                  String failureMessage) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        results.stream()
+            .filter(result -> !"SUCCEEDED".equals(result.getOutcome()))
+            .findFirst()
+            .ifPresent(failed -> body.put("error", failureMessage + " on " + failed.getInstanceId() + ": " + failed.getMessage()));
+        body.put("results", results);
+        return body;
+    }
+
+    // 200 when every instance succeeded, 207 when some did, 503 if every instance was saturated
+    private static ResponseEntity<Map<String, Object>> fanOutResponse(List<ServiceRegistryService.ControlResult> results,
+                                                                      Map<String, Object> body) {
+        if (ServiceRegistryService.allSucceeded(results)) {
+            return ResponseEntity.ok(body);
+        }
+        if (results.stream().allMatch(result -> "SATURATED".equals(result.getOutcome()))) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+        }
+        boolean anySucceeded = results.stream().anyMatch(result -> "SUCCEEDED".equals(result.getOutcome()));
+        return ResponseEntity.status(anySucceeded ? HttpStatus.MULTI_STATUS : HttpStatus.BAD_GATEWAY).body(body);
+    }
+
+    // countOnly=true skips the file list and answers {"processedCount": n}
+    @GetMapping("/{serviceName}/files/processed")
+    public ResponseEntity<?> getProcessedFiles(@PathVariable String serviceName,
+                                               @RequestParam(required = false) String instanceId,
+                                               @RequestParam(defaultValue = "false") boolean countOnly,
+                                               HttpServletResponse servletResponse) {
         try {
-            // Get the service URL from service registry
-            List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-            ServiceRegistryService.ServiceInfo service = services.stream()
-                .filter(s -> serviceName.equals(s.getName()))
-                .findFirst()
-                .orElse(null);
-                
-            if (service == null || service.getUrl() == null) {
+            String serviceUrl = serviceRegistryService.getInstanceUrl(serviceName, instanceId);
+            if (serviceUrl == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
             }
-            
-            // embedProc doesn't have a /processing/reset endpoint, return not supported response
-            if ("embedproc".equals(serviceName)) {
-                return ResponseEntity.badRequest().body(Map.of(
-                    "error", "Reset not supported",
-                    "message", "embedProc service does not support processing reset operation",
-                    "supportedOperations", Arrays.asList("start", "stop", "toggle")
-                ));
+            ServiceCatalog.ServiceDefinition service = serviceCatalog.find(serviceName);
+            String processedPath = service.getEndpoint("processed");
+            if (processedPath == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "No processed files for service: " + serviceName));
             }
+            String processedUrl = serviceUrl + processedPath;
             
-            // Proxy the reset request to the actual service (textProc, hdfsWatcher)
-            org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                service.getUrl() + "/api/processing/reset", 
-                null,
-                (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
+            // File arrays (textProc) and counts (embedProc) are reshaped, so every poller shares one
+            // cached upstream call
+            ServiceCatalog.ProcessedFormat format = service.getProcessedFormat();
+            if (format != ServiceCatalog.ProcessedFormat.FILE_LISTING) {
+                boolean counting = countOnly && format == ServiceCatalog.ProcessedFormat.FILE_ARRAY;
+                return responseCache.get(ResponseCache.key(counting ? "processed-count" : "processed", serviceName, instanceId),
+                    processedTtlMs, () -> loadProcessedFiles(format, processedUrl, counting));
+            }
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return ResponseEntity.ok(response.getBody());
-            } else {
-                return ResponseEntity.badRequest().body(Map.of("error", "Failed to reset processing"));
+            // A listing (hdfsWatcher's) is already in the shape the frontend expects, so pass it through
+            if (upstreamGateway.stream(HttpMethod.GET, processedUrl,
+                    UpstreamGateway.CallProfile.LISTING, servletResponse)) {
+                return null;
             }
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to get processed files"));
+        } catch (UpstreamSaturatedException e) {
+            return saturated(e);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Error resetting processing: " + e.getMessage()));
+            return ResponseEntity.badRequest().body(Map.of("error", "Error getting processed files: " + e.getMessage()));
         }
     }
 
-    @GetMapping("/{serviceName}/files/processed")
-    public ResponseEntity<Map<String, Object>> getProcessedFiles(@PathVariable String serviceName) {
-        try {
-            // Get the service URL from service registry
-            List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-            ServiceRegistryService.ServiceInfo service = services.stream()
-                .filter(s -> serviceName.equals(s.getName()))
-                .findFirst()
-                .orElse(null);
-                
-            if (service == null || service.getUrl() == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Service not found: " + serviceName));
-            }
-            
-            // embedProc has /api/processing/files-processed endpoint
-            if ("embedproc".equals(serviceName)) {
-                try {
-                    org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-                    ResponseEntity<Map<String, Object>> response = restTemplate.getForEntity(
-                        service.getUrl() + "/api/processing/files-processed", 
-                        (Class<Map<String, Object>>) (Class<?>) Map.class
-                    );
-                    
-                    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                        Map<String, Object> embedProcData = response.getBody();
-                        
-                        // Extract filesProcessed from embedProc response
-                        Object filesProcessedObj = embedProcData.get("filesProcessed");
-                        int filesProcessed = (filesProcessedObj instanceof Number) ? 
-                            ((Number) filesProcessedObj).intValue() : 0;
-                        
-                        // Return in the format expected by the frontend
-                        return ResponseEntity.ok(Map.of(
-                            "files", new ArrayList<>(),
-                            "processedCount", filesProcessed,
-                            "filesTotal", embedProcData.get("filesTotal"),
-                            "timestamp", embedProcData.get("timestamp")
-                        ));
-                    } else {
-                        return ResponseEntity.ok(Map.of(
-                            "files", new ArrayList<>(),
-                            "processedCount", 0,
-                            "message", "embedProc files-processed endpoint unavailable"
-                        ));
-                    }
-                } catch (Exception e) {
-                    return ResponseEntity.ok(Map.of(
-                        "files", new ArrayList<>(),
-                        "processedCount", 0,
-                        "message", "Error accessing embedProc files-processed: " + e.getMessage()
-                    ));
-                }
-            }
-            
-            // Proxy the request to get processed files (for textProc and hdfsWatcher)
-            org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-            String endpoint = "textproc".equals(serviceName) ? "/api/files/processed" : "/files/processed";
-            
-            if ("textproc".equals(serviceName)) {
-                // textproc returns an array, not a map
-                ResponseEntity<List> response = restTemplate.getForEntity(
-                    service.getUrl() + endpoint, 
-                    List.class
-                );
-                
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    List<?> files = response.getBody();
-                    return ResponseEntity.ok(Map.of(
-                        "files", files,
-                        "processedCount", files.size()
-                    ));
-                } else {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Failed to get processed files from textproc"));
-                }
-            } else {
-                // hdfsWatcher returns a map
-                ResponseEntity<Map<String, Object>> response = restTemplate.getForEntity(
-                    service.getUrl() + endpoint, 
+    private ResponseEntity<?> loadProcessedFiles(ServiceCatalog.ProcessedFormat format, String processedUrl,
+                                                 boolean countOnly) {
+        // embedProc's files-processed only has counts
+        if (format == ServiceCatalog.ProcessedFormat.FILE_COUNTS) {
+            try {
+                ResponseEntity<Map<String, Object>> response = upstreamGateway.get(
+                    processedUrl, 
+                    UpstreamGateway.CallProfile.READ,
                     (Class<Map<String, Object>>) (Class<?>) Map.class
                 );
                 
                 if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    return ResponseEntity.ok(response.getBody());
+                    return ResponseEntity.ok(UpstreamPayloads.embedProcessedFiles(response.getBody()));
                 } else {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Failed to get processed files"));
+                    return ResponseEntity.ok(Map.of(
+                        "files", new ArrayList<>(),
+                        "processedCount", 0,
+                        "message", "embedProc files-processed endpoint unavailable"
+                    ));
                 }
+            } catch (Exception e) {
+                return ResponseEntity.ok(Map.of(
+                    "files", new ArrayList<>(),
+                    "processedCount", 0,
+                    "message", "Error accessing embedProc files-processed: " + e.getMessage()
+                ));
             }
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Error getting processed files: " + e.getMessage()));
         }
+        
+        // textproc returns a bare array; it is counted or copied straight off the stream, never bound to a List
+        if (countOnly) {
+            long count = upstreamGateway.read(processedUrl, UpstreamGateway.CallProfile.LISTING,
+                UpstreamPayloads::countProcessedFiles);
+            return ResponseEntity.ok(Map.of("processedCount", count));
+        }
+        byte[] body = upstreamGateway.read(processedUrl, UpstreamGateway.CallProfile.LISTING,
+            UpstreamPayloads::copyProcessedFiles);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PostMapping("/restart-pipeline")
     public ResponseEntity<Map<String, Object>> restartPipeline() {
         try {
-            List<String> results = new ArrayList<>();
-            List<String> errors = new ArrayList<>();
-            
-            // Get all services
-            List<ServiceRegistryService.ServiceInfo> services = serviceRegistryService.getAvailableServices();
-            org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
-            
-            // Stop all services (hdfswatcher, textproc, embedproc)
-            for (String serviceName : Arrays.asList("hdfswatcher", "textproc", "embedproc")) {
-                try {
-                    ServiceRegistryService.ServiceInfo service = services.stream()
-                        .filter(s -> serviceName.equals(s.getName()))
-                        .findFirst()
-                        .orElse(null);
-                        
-                    if (service != null && service.getUrl() != null) {
-                        restTemplate.postForEntity(service.getUrl() + "/api/processing/stop", null, Map.class);
-                        results.add("Stopped " + serviceName);
-                    }
-                } catch (Exception e) {
-                    errors.add("Failed to stop " + serviceName + ": " + e.getMessage());
-                }
-            }
-            
-            // Reset hdfsWatcher files
-            try {
-                ServiceRegistryService.ServiceInfo hdfsService = services.stream()
-                    .filter(s -> "hdfswatcher".equals(s.getName()))
-                    .findFirst()
-                    .orElse(null);
-                    
-                if (hdfsService != null && hdfsService.getUrl() != null) {
-                    restTemplate.postForEntity(hdfsService.getUrl() + "/api/clear", null, Map.class);
-                    results.add("Reset hdfsWatcher files");
-                }
-            } catch (Exception e) {
-                errors.add("Failed to reset hdfsWatcher files: " + e.getMessage());
-            }
-            
-            // Reset textProc processing
-            try {
-                ServiceRegistryService.ServiceInfo textService = services.stream()
-                    .filter(s -> "textproc".equals(s.getName()))
-                    .findFirst()
-                    .orElse(null);
-                    
-                if (textService != null && textService.getUrl() != null) {
-                    restTemplate.postForEntity(textService.getUrl() + "/api/processing/reset", null, Map.class);
-                    results.add("Reset textProc processing");
-                }
-            } catch (Exception e) {
-                errors.add("Failed to reset textProc: " + e.getMessage());
-            }
-            
-            // Reset embedProc processing counters
-            try {
-                ServiceRegistryService.ServiceInfo embedService = services.stream()
-                    .filter(s -> "embedproc".equals(s.getName()))
-                    .findFirst()
-                    .orElse(null);
-                    
-                if (embedService != null && embedService.getUrl() != null) {
-                    restTemplate.postForEntity(embedService.getUrl() + "/api/processing/reset-counters", null, Map.class);
-                    results.add("Reset embedProc processing counters");
-                }
-            } catch (Exception e) {
-                errors.add("Failed to reset embedProc: " + e.getMessage());
-            }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Pipeline restart completed");
-            response.put("results", results);
-            if (!errors.isEmpty()) {
-                response.put("errors", errors);
-            }
-            
-            return ResponseEntity.ok(response);
-            
+            // Runs in the background; progress is available from the job endpoint and the event stream
+            PipelineRestartOrchestrator.RestartJob job = pipelineRestartOrchestrator.startRestart();
+            return ResponseEntity.accepted().body(Map.of(
+                "status", "accepted",
+                "message", "Pipeline restart started",
+                "jobId", job.getJobId(),
+                "statusUrl", "/api/services/restart-pipeline/" + job.getJobId()
+            ));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error restarting pipeline: " + e.getMessage()));
         }
     }
+
+    @GetMapping("/restart-pipeline/{jobId}")
+    public ResponseEntity<PipelineRestartOrchestrator.RestartJob> getRestartJob(@PathVariable String jobId) {
+        PipelineRestartOrchestrator.RestartJob job = pipelineRestartOrchestrator.getJob(jobId);
+        if (job != null) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    // The upstream already has its limit of calls in flight; the client should back off briefly
+    private static ResponseEntity<Map<String, Object>> saturated(UpstreamSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", e.getMessage()));
+    }
+
+    private static class OverviewSnapshot {
+        private final long version;
+        private final Map<String, Object> body;
+
+        OverviewSnapshot(long version, Map<String, Object> body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+
+    public static class BulkControlRequest {
+        private String action;
+        private List<String> services;
+        private List<ServiceRegistryService.ControlTarget> targets;
+        private Long deadlineMs;
+
+        public String getAction() { return action; }
+        public void setAction(String action) { this.action = action; }
+        public List<String> getServices() { return services; }
+        public void setServices(List<String> services) { this.services = services; }
+        public List<ServiceRegistryService.ControlTarget> getTargets() { return targets; }
+        public void setTargets(List<ServiceRegistryService.ControlTarget> targets) { this.targets = targets; }
+        public Long getDeadlineMs() { return deadlineMs; }
+        public void setDeadlineMs(Long deadlineMs) { this.deadlineMs = deadlineMs; }
+    }
 }
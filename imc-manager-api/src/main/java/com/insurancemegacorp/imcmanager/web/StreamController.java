@@ -0,0 +1,27 @@
+package com.insurancemegacorp.imcmanager.web;
+
+import com.insurancemegacorp.imcmanager.service.EventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class StreamController {
+
+    @Autowired
+    private EventHub eventHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long replayFrom = null;
+        if (lastEventId != null) {
+            try {
+                replayFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Unknown id, start without replay
+            }
+        }
+        return eventHub.subscribe(replayFrom);
+    }
+}
@@ -0,0 +1,31 @@
+package com.insurancemegacorp.imcmanager.web;
+
+import com.insurancemegacorp.imcmanager.service.TelemetryDashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/telemetry")
+public class TelemetryController {
+
+    @Autowired
+    private TelemetryDashboardService telemetryDashboardService;
+
+    // fleetSummary, topPerformers, highRiskDrivers, mlModelInfo and vehicleEvents from imc-db-server,
+    // plus per-query errors; the pre-serialized body is shared by every caller until the next refresh
+    @GetMapping("/dashboard")
+    public ResponseEntity<byte[]> getDashboard(WebRequest request) {
+        TelemetryDashboardService.Snapshot snapshot = telemetryDashboardService.getSnapshot();
+        String etag = VersionedETags.of("telemetry", snapshot.getVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.getBody());
+    }
+}
@@ -0,0 +1,16 @@
+package com.insurancemegacorp.imcmanager.web;
+
+// ETags for bodies labelled with one of the manager's in-memory version counters. The counters
+// restart at 0 on every boot, so each tag also carries the boot epoch; a previous run's tag can
+// then never match a different body that happens to have the same version.
+final class VersionedETags {
+
+    private static final String BOOT_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private VersionedETags() {
+    }
+
+    static String of(String name, long version) {
+        return "\"" + name + "-" + BOOT_EPOCH + "-" + version + "\"";
+    }
+}
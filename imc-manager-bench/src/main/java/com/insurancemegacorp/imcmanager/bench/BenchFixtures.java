@@ -0,0 +1,219 @@
+package com.insurancemegacorp.imcmanager.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurancemegacorp.imcmanager.service.CircuitBreakerRegistry;
+import com.insurancemegacorp.imcmanager.service.DiscoveryCache;
+import com.insurancemegacorp.imcmanager.service.EventHub;
+import com.insurancemegacorp.imcmanager.service.HealthProbeEngine;
+import com.insurancemegacorp.imcmanager.service.LiveStatusStore;
+import com.insurancemegacorp.imcmanager.service.ProbeScheduler;
+import com.insurancemegacorp.imcmanager.service.ResponseCache;
+import com.insurancemegacorp.imcmanager.service.ServiceCatalog;
+import com.insurancemegacorp.imcmanager.service.ServiceRegistryService;
+import com.insurancemegacorp.imcmanager.service.ServiceSnapshotStore;
+import com.insurancemegacorp.imcmanager.service.StatusHistoryStore;
+import com.insurancemegacorp.imcmanager.service.UpstreamBulkhead;
+import com.insurancemegacorp.imcmanager.service.UpstreamGateway;
+import com.insurancemegacorp.imcmanager.service.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Shared stand-ins and payloads so every benchmark measures the manager's code, not its setup
+public final class BenchFixtures {
+
+    public static final List<String> RAG_SERVICES = List.of("hdfswatcher", "textproc", "embedproc");
+
+    private BenchFixtures() {
+    }
+
+    // Configured the way Spring Boot configures the MVC message converter's mapper
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    // The first three are the real RAG services; beyond that, numbered copies of them
+    public static List<String> ragServiceNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            names.add(RAG_SERVICES.get(s % RAG_SERVICES.size()) + (s < RAG_SERVICES.size() ? "" : "-" + s));
+        }
+        return names;
+    }
+
+    // A services.json with one state-probed rag entry per name
+    public static Resource ragCatalog(List<String> serviceNames) {
+        List<Map<String, Object>> services = new ArrayList<>(serviceNames.size());
+        for (String serviceName : serviceNames) {
+            Map<String, Object> service = new LinkedHashMap<>();
+            service.put("name", serviceName);
+            service.put("displayName", serviceName);
+            service.put("description", "RAG Pipeline Service");
+            service.put("pipeline", ServiceCatalog.RAG_PIPELINE);
+            service.put("probe", Map.of("path", "/api/processing/state", "format", "PROCESSING_STATE", "intervalSeconds", 10));
+            service.put("endpoints", Map.of("state", "/api/processing/state",
+                "start", "/api/processing/start", "stop", "/api/processing/stop"));
+            services.add(service);
+        }
+        try {
+            return new ByteArrayResource(objectMapper().writeValueAsBytes(services));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write the benchmark catalog", e);
+        }
+    }
+
+    public static DiscoveryClient discoveryClient(List<String> serviceNames, int instancesPerService, int basePort) {
+        Map<String, List<ServiceInstance>> instances = new LinkedHashMap<>();
+        int port = basePort;
+        for (String serviceName : serviceNames) {
+            List<ServiceInstance> serviceInstances = new ArrayList<>();
+            for (int i = 0; i < instancesPerService; i++) {
+                serviceInstances.add(new DefaultServiceInstance(
+                    serviceName + "-" + i, serviceName, "localhost", port++, false));
+            }
+            instances.put(serviceName, List.copyOf(serviceInstances));
+        }
+        return new StaticDiscoveryClient(instances);
+    }
+
+    public static Map<String, Object> processingState(boolean enabled, double rate, long filesProcessed) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", enabled);
+        state.put("processing", enabled);
+        state.put("status", enabled ? "PROCESSING" : "IDLE");
+        state.put("processingRate", rate);
+        state.put("filesProcessed", filesProcessed);
+        state.put("filesTotal", filesProcessed + 25);
+        state.put("chunksProcessed", filesProcessed * 40);
+        state.put("errorCount", 2);
+        state.put("lastProcessedFile", "hdfs://namenode:8020/policies/policy-" + filesProcessed + ".pdf");
+        state.put("consumerStatus", Map.of("queue", "pipeline.textproc", "consumers", 1, "messagesReady", 12));
+        state.put("timestamp", System.currentTimeMillis());
+        return state;
+    }
+
+    public static List<Map<String, Object>> processedFiles(int count) {
+        List<Map<String, Object>> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> file = new LinkedHashMap<>();
+            file.put("filename", "policy-" + i + ".pdf");
+            file.put("path", "hdfs://namenode:8020/policies/policy-" + i + ".pdf");
+            file.put("size", 180_000L + i * 37L);
+            file.put("chunks", 40 + i % 17);
+            file.put("state", "processed");
+            file.put("processedAt", System.currentTimeMillis() - i * 1000L);
+            files.add(file);
+        }
+        return files;
+    }
+
+    // Records every registered instance as STARTED through the same path the event ingestor uses
+    public static void recordStarted(ServiceRegistryService registry, DiscoveryCache discoveryCache,
+                                     List<String> serviceNames) {
+        for (String serviceName : serviceNames) {
+            int i = 0;
+            for (DiscoveryCache.CachedInstance instance : discoveryCache.getInstances(serviceName)) {
+                registry.recordLiveStatus(serviceName, new ServiceRegistryService.InstanceStatus(
+                    instance.getInstanceId(), instance.getUrl(), i % 5 == 4 ? "STOPPED" : "STARTED",
+                    new Date(), 12.5 + i, 1_000L * (i + 1)));
+                i++;
+            }
+        }
+    }
+
+    // ServiceRegistryService and everything it depends on, built through the same constructors
+    // Spring uses with the manager's default settings. Nothing is probed; history and snapshot
+    // files go to a temporary directory that close() removes.
+    public static final class Manager implements AutoCloseable {
+
+        public final DiscoveryCache discoveryCache;
+        public final ServiceRegistryService registry;
+
+        private final Path dataDir;
+        private final HealthProbeEngine healthProbeEngine;
+        private final EventHub eventHub;
+        private final StatusHistoryStore statusHistory;
+        private final ProbeScheduler probeScheduler;
+
+        public Manager(DiscoveryClient discoveryClient, Resource catalog) {
+            ObjectMapper objectMapper = objectMapper();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            try {
+                dataDir = Files.createTempDirectory("imc-bench");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            discoveryCache = new DiscoveryCache(discoveryClient);
+            discoveryCache.refresh();
+            healthProbeEngine = new HealthProbeEngine(6000, meterRegistry);
+            eventHub = new EventHub(objectMapper, 64, 1024, 5, 1_800_000);
+            eventHub.init();
+            CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(
+                20, 5, 0.5, 0.8, 2000, 2500, 10_000, 5000, 10_000, 300_000);
+            UpstreamGateway upstreamGateway = new UpstreamGateway(circuitBreakers, new UpstreamBulkhead(16, 250),
+                new UpstreamMetrics(meterRegistry, discoveryCache), 2000, 3000, 5000, 15_000, 10_000);
+            statusHistory = new StatusHistoryStore(dataDir.resolve("status-history.dat").toString(), 65_536, 5);
+            try {
+                statusHistory.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            probeScheduler = new ProbeScheduler(100, 512, 0.2, meterRegistry);
+            probeScheduler.start();
+
+            registry = new ServiceRegistryService(
+                discoveryCache,
+                healthProbeEngine,
+                eventHub,
+                upstreamGateway,
+                new ResponseCache(256),
+                circuitBreakers,
+                meterRegistry,
+                statusHistory,
+                new ServiceCatalog(objectMapper, catalog, 10),
+                probeScheduler,
+                new LiveStatusStore(15_000),
+                new ServiceSnapshotStore(objectMapper, dataDir.resolve("service-snapshot.json").toString(), 86_400),
+                8000, 1000, 30, 120);
+            registry.init();
+        }
+
+        // Shuts the beans down in Spring's reverse order. The registry's shutdown saves a snapshot
+        // and swallows a failed save, so a missing file is reported here rather than passing silently.
+        @Override
+        public void close() throws IOException {
+            try {
+                registry.shutdown();
+                if (!Files.isRegularFile(dataDir.resolve("service-snapshot.json"))) {
+                    throw new IllegalStateException("ServiceRegistryService.shutdown() did not save a snapshot");
+                }
+            } finally {
+                probeScheduler.shutdown();
+                statusHistory.close();
+                eventHub.shutdown();
+                healthProbeEngine.shutdown();
+                FileSystemUtils.deleteRecursively(dataDir);
+            }
+        }
+    }
+}
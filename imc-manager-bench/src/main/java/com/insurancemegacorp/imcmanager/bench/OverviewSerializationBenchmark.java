@@ -0,0 +1,64 @@
+package com.insurancemegacorp.imcmanager.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The /api/services/rag-pipeline/overview body as the number of registered rag services grows:
+// ServiceRegistryService.buildOverview() itself, and writing the body it built.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverviewSerializationBenchmark {
+
+    @Param({"3", "30", "300"})
+    public int services;
+
+    @Param({"2"})
+    public int instancesPerService;
+
+    private BenchFixtures.Manager manager;
+    private ObjectMapper objectMapper;
+    private long version;
+    private Map<String, Object> overview;
+
+    @Setup
+    public void setup() {
+        List<String> serviceNames = BenchFixtures.ragServiceNames(services);
+        manager = new BenchFixtures.Manager(
+            BenchFixtures.discoveryClient(serviceNames, instancesPerService, 9000),
+            BenchFixtures.ragCatalog(serviceNames));
+        BenchFixtures.recordStarted(manager.registry, manager.discoveryCache, serviceNames);
+
+        objectMapper = BenchFixtures.objectMapper();
+        version = manager.registry.getContentVersion();
+        overview = manager.registry.buildOverview(version, null);
+        if (((List<?>) overview.get("services")).size() != services) {
+            throw new IllegalStateException("Overview lists " + ((List<?>) overview.get("services")).size()
+                + " services, expected " + services);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        manager.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildOverview() {
+        return manager.registry.buildOverview(version, null);
+    }
+
+    @Benchmark
+    public byte[] serializeOverview() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(overview);
+    }
+}
@@ -0,0 +1,66 @@
+package com.insurancemegacorp.imcmanager.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurancemegacorp.imcmanager.service.ServiceRegistryService;
+import com.insurancemegacorp.imcmanager.service.UpstreamPayloads;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Upstream JSON in, manager result out: the health probe's /api/processing/state read and the
+// processed-files count/reshape for textProc and embedProc, including writing the response out.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadParsingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    @Param({"10", "1000", "10000"})
+    public int processedFiles;
+
+    private ObjectMapper objectMapper;
+    private byte[] stateJson;
+    private byte[] textProcessedJson;
+    private byte[] embedProcessedJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = BenchFixtures.objectMapper();
+        stateJson = objectMapper.writeValueAsBytes(BenchFixtures.processingState(true, 42.5, processedFiles));
+        textProcessedJson = objectMapper.writeValueAsBytes(BenchFixtures.processedFiles(processedFiles));
+        embedProcessedJson = objectMapper.writeValueAsBytes(Map.of(
+            "filesProcessed", processedFiles,
+            "filesTotal", processedFiles + 25,
+            "timestamp", System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public ServiceRegistryService.InstanceStatus parseProcessingState() throws IOException {
+        return UpstreamPayloads.readInstanceStatus("textproc-0", "http://textproc-0:8080",
+            new ByteArrayInputStream(stateJson));
+    }
+
+    @Benchmark
+    public byte[] reshapeTextProcessed() throws IOException {
+        return UpstreamPayloads.copyProcessedFiles(new ByteArrayInputStream(textProcessedJson));
+    }
+
+    @Benchmark
+    public long countTextProcessed() throws IOException {
+        return UpstreamPayloads.countProcessedFiles(new ByteArrayInputStream(textProcessedJson));
+    }
+
+    @Benchmark
+    public byte[] reshapeEmbedProcessed() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(embedProcessedJson, MAP);
+        return objectMapper.writeValueAsBytes(UpstreamPayloads.embedProcessedFiles(body));
+    }
+}
@@ -0,0 +1,43 @@
+package com.insurancemegacorp.imcmanager.bench;
+
+import com.insurancemegacorp.imcmanager.service.ServiceRegistryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ServiceRegistryService.getAvailableServices() against a static registry, with every instance
+// already reporting, i.e. the work behind each /api/services and overview request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceListingBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int instancesPerService;
+
+    private BenchFixtures.Manager manager;
+
+    @Setup
+    public void setup() {
+        manager = new BenchFixtures.Manager(
+            BenchFixtures.discoveryClient(BenchFixtures.RAG_SERVICES, instancesPerService, 9000),
+            new ClassPathResource("config/services.json"));
+        BenchFixtures.recordStarted(manager.registry, manager.discoveryCache, BenchFixtures.RAG_SERVICES);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        manager.close();
+    }
+
+    @Benchmark
+    public List<ServiceRegistryService.ServiceInfo> getAvailableServices() {
+        return manager.registry.getAvailableServices();
+    }
+}
@@ -0,0 +1,32 @@
+package com.insurancemegacorp.imcmanager.bench;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.List;
+import java.util.Map;
+
+// Fixed registry contents in place of Eureka
+public class StaticDiscoveryClient implements DiscoveryClient {
+
+    private final Map<String, List<ServiceInstance>> instances;
+
+    public StaticDiscoveryClient(Map<String, List<ServiceInstance>> instances) {
+        this.instances = instances;
+    }
+
+    @Override
+    public String description() {
+        return "Static discovery client";
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+        return instances.getOrDefault(serviceId, List.of());
+    }
+
+    @Override
+    public List<String> getServices() {
+        return List.copyOf(instances.keySet());
+    }
+}
@@ -0,0 +1,108 @@
+package com.insurancemegacorp.imcmanager.bench.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Simulates open dashboards: each one polls the same endpoints on the same intervals as the
+// React app, starting at a random offset so the fleet does not poll in lockstep.
+public class DashboardDriver {
+
+    public record Poll(String name, String path, long intervalMs) {}
+
+    public static final List<Poll> DASHBOARD_POLLS = List.of(
+        new Poll("overview", "/api/services/rag-pipeline/overview", 10_000),
+        new Poll("metrics", "/api/metrics", 10_000),
+        new Poll("hdfswatcher files", "/api/services/hdfswatcher/files", 15_000),
+        new Poll("textproc processed", "/api/services/textproc/files/processed", 20_000),
+        new Poll("embedproc processed", "/api/services/embedproc/files/processed", 20_000)
+    );
+
+    private final String baseUrl;
+    private final String authorization;
+    private final double pollScale;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    public DashboardDriver(String baseUrl, String authorization, double pollScale) {
+        this.baseUrl = baseUrl;
+        this.authorization = authorization;
+        this.pollScale = pollScale;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+        for (Poll poll : DASHBOARD_POLLS) {
+            recorders.put(poll.name(), new LatencyRecorder(poll.name()));
+        }
+    }
+
+    // Blocks for warmup + duration; only requests started after the warmup are recorded
+    public List<LatencyRecorder.Summary> run(int dashboards, long warmupMs, long durationMs) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long recordFrom = start + warmupMs;
+        long end = recordFrom + durationMs;
+
+        for (int d = 0; d < dashboards; d++) {
+            for (Poll poll : DASHBOARD_POLLS) {
+                executor.execute(() -> pollLoop(poll, recordFrom, end));
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmupMs + durationMs + 60_000, TimeUnit.MILLISECONDS);
+
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        for (LatencyRecorder recorder : recorders.values()) {
+            summaries.add(recorder.summarize());
+        }
+        return summaries;
+    }
+
+    private void pollLoop(Poll poll, long recordFrom, long end) {
+        long intervalMs = Math.max(1, (long) (poll.intervalMs() * pollScale));
+        long next = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(intervalMs);
+        LatencyRecorder recorder = recorders.get(poll.name());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + poll.path()))
+            .header("Authorization", authorization)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+
+        try {
+            while (true) {
+                long wait = next - System.currentTimeMillis();
+                if (wait > 0) Thread.sleep(wait);
+                long startedAt = System.currentTimeMillis();
+                if (startedAt >= end) return;
+
+                long t0 = System.nanoTime();
+                boolean error;
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    error = response.statusCode() >= 400;
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) throw (InterruptedException) e;
+                    error = true;
+                }
+                if (startedAt >= recordFrom) {
+                    recorder.record((System.nanoTime() - t0) / 1_000, error);
+                }
+                next += intervalMs;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.insurancemegacorp.imcmanager.bench.load;
+
+import java.util.Arrays;
+
+// Keeps every sample for one endpoint so percentiles are exact; a few hundred thousand longs
+// per run is cheap next to the process being measured.
+public class LatencyRecorder {
+
+    private final String name;
+    private long[] samplesMicros = new long[4096];
+    private int count;
+    private long errors;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized void record(long micros, boolean error) {
+        if (count == samplesMicros.length) {
+            samplesMicros = Arrays.copyOf(samplesMicros, count * 2);
+        }
+        samplesMicros[count++] = micros;
+        if (error) errors++;
+    }
+
+    public synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samplesMicros, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, errors,
+            percentile(sorted, 0.50), percentile(sorted, 0.99), count > 0 ? sorted[count - 1] : 0);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public record Summary(String name, long requests, long errors, long p50Micros, long p99Micros, long maxMicros) {}
+}
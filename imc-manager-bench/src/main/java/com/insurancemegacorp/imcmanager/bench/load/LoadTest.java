@@ -0,0 +1,151 @@
+package com.insurancemegacorp.imcmanager.bench.load;
+
+import com.insurancemegacorp.imcmanager.ImcManagerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// End-to-end load run: starts stub upstreams, boots the manager in-process against them through
+// Spring Cloud's simple (static) discovery client, drives it with simulated dashboards and prints
+// p50/p99 latency, throughput and heap use. With --target=<url> it drives an already running
+// manager instead (heap figures then describe only this process).
+//
+//   java -cp imc-manager-bench/target/benchmarks.jar \
+//        com.insurancemegacorp.imcmanager.bench.load.LoadTest --dashboards=300 --duration=120
+public class LoadTest {
+
+    private static final List<String> SERVICES = List.of("hdfswatcher", "textproc", "embedproc");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int dashboards = Integer.parseInt(options.getOrDefault("dashboards", "200"));
+        long durationMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("duration", "60")));
+        long warmupMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("warmup", "15")));
+        double pollScale = Double.parseDouble(options.getOrDefault("poll-scale", "1.0"));
+        int instances = Integer.parseInt(options.getOrDefault("instances", "2"));
+        long latencyMs = Long.parseLong(options.getOrDefault("latency-ms", "20"));
+        double errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0.0"));
+        int files = Integer.parseInt(options.getOrDefault("files", "1000"));
+        String user = options.getOrDefault("user", "admin");
+        String pass = options.getOrDefault("pass", "load-test");
+        String target = options.get("target");
+
+        List<StubUpstream> stubs = new ArrayList<>();
+        ConfigurableApplicationContext manager = null;
+        try {
+            String baseUrl = target;
+            if (baseUrl == null) {
+                List<String> managerArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--eureka.client.enabled=false",
+                    "--spring.cloud.service-registry.auto-registration.enabled=false",
+                    "--imc-manager.basic.user=" + user,
+                    "--imc-manager.basic.pass=" + pass,
+                    "--logging.level.com.insurancemegacorp=WARN"
+                ));
+                for (String serviceName : SERVICES) {
+                    for (int i = 0; i < instances; i++) {
+                        StubUpstream stub = new StubUpstream(serviceName, latencyMs, errorRate, files);
+                        stubs.add(stub);
+                        String prefix = "--spring.cloud.discovery.client.simple.instances." + serviceName + "[" + i + "].";
+                        managerArgs.add(prefix + "uri=" + stub.getUrl());
+                        managerArgs.add(prefix + "instance-id=" + serviceName + "-" + i);
+                    }
+                }
+                manager = new SpringApplicationBuilder(ImcManagerApplication.class).run(managerArgs.toArray(new String[0]));
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) manager).getWebServer().getPort();
+            }
+
+            System.out.printf("Driving %s with %d dashboards for %ds after %ds warmup (poll scale %.2f)%n",
+                baseUrl, dashboards, durationMs / 1000, warmupMs / 1000, pollScale);
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            AtomicLong peakHeap = new AtomicLong();
+            ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+            heapSampler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                warmupMs, 200, TimeUnit.MILLISECONDS);
+            long[] gcBefore = new long[2];
+
+            String authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + pass).getBytes(StandardCharsets.UTF_8));
+            DashboardDriver driver = new DashboardDriver(baseUrl, authorization, pollScale);
+            heapSampler.schedule(() -> {
+                long[] gc = gcTotals();
+                gcBefore[0] = gc[0];
+                gcBefore[1] = gc[1];
+            }, warmupMs, TimeUnit.MILLISECONDS);
+            List<LatencyRecorder.Summary> summaries = driver.run(dashboards, warmupMs, durationMs);
+            heapSampler.shutdownNow();
+            long[] gcAfter = gcTotals();
+
+            report(summaries, durationMs, peakHeap.get(), memory.getHeapMemoryUsage().getCommitted(),
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], stubs);
+        } finally {
+            if (manager != null) manager.close();
+            stubs.forEach(StubUpstream::close);
+        }
+    }
+
+    private static void report(List<LatencyRecorder.Summary> summaries, long durationMs, long peakHeap,
+                               long committedHeap, long gcCount, long gcMillis, List<StubUpstream> stubs) {
+        System.out.printf("%n%-22s %10s %8s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (LatencyRecorder.Summary s : summaries) {
+            totalRequests += s.requests();
+            totalErrors += s.errors();
+            System.out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                s.name(), s.requests(), s.errors(), s.requests() * 1000.0 / durationMs,
+                s.p50Micros() / 1000.0, s.p99Micros() / 1000.0, s.maxMicros() / 1000.0);
+        }
+        System.out.printf("%-22s %10d %8d %10.1f%n", "total", totalRequests, totalErrors,
+            totalRequests * 1000.0 / durationMs);
+
+        // In-process runs share one heap between manager, stubs and driver
+        System.out.printf("%nheap (%s): peak used %.1f MB, committed %.1f MB; GC: %d collections, %d ms%n",
+            stubs.isEmpty() ? "driver only" : "manager + stubs + driver", peakHeap / 1048576.0, committedHeap / 1048576.0, gcCount, gcMillis);
+        if (!stubs.isEmpty()) {
+            long upstreamRequests = stubs.stream().mapToLong(StubUpstream::getRequests).sum();
+            System.out.printf("upstream: %d requests across %d stub instances (includes warmup)%n",
+                upstreamRequests, stubs.size());
+        }
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,141 @@
+package com.insurancemegacorp.imcmanager.bench.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurancemegacorp.imcmanager.bench.BenchFixtures;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process stand-in for one hdfswatcher, textproc or embedproc instance. Implements the
+// /api/processing/*, /api/files*, /files/processed and /api/clear contracts the manager calls,
+// with configurable latency, error rate and listing size.
+public class StubUpstream implements AutoCloseable {
+
+    private final String serviceName;
+    private final long latencyMs;
+    private final double errorRate;
+    private final ObjectMapper objectMapper = BenchFixtures.objectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+    private final AtomicBoolean enabled = new AtomicBoolean(true);
+    private final AtomicLong filesProcessed = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    // Listings are rendered once; only the processing state changes between requests
+    private final byte[] filesJson;
+    private final byte[] processedJson;
+
+    public StubUpstream(String serviceName, long latencyMs, double errorRate, int files) throws IOException {
+        this.serviceName = serviceName;
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.filesProcessed.set(files);
+
+        List<Map<String, Object>> processed = BenchFixtures.processedFiles(files);
+        List<Map<String, Object>> listing = new ArrayList<>(files);
+        for (Map<String, Object> file : processed) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", file.get("filename"));
+            entry.put("path", file.get("path"));
+            entry.put("size", file.get("size"));
+            entry.put("state", ThreadLocalRandom.current().nextInt(10) == 0 ? "pending" : "processed");
+            listing.add(entry);
+        }
+        Map<String, Object> filesBody = new LinkedHashMap<>();
+        filesBody.put("files", listing);
+        filesBody.put("totalFiles", files);
+        filesBody.put("hdfsPath", "/policies");
+        this.filesJson = objectMapper.writeValueAsBytes(filesBody);
+        // textproc answers with a bare array; hdfswatcher wraps it
+        this.processedJson = "textproc".equals(serviceName)
+            ? objectMapper.writeValueAsBytes(processed)
+            : objectMapper.writeValueAsBytes(Map.of("files", processed, "processedCount", files));
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs / 2 + ThreadLocalRandom.current().nextLong(latencyMs + 1));
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, objectMapper.writeValueAsBytes(Map.of("error", "injected failure")));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            boolean post = "POST".equals(exchange.getRequestMethod());
+            switch (path) {
+                case "/api/processing/state" -> respond(exchange, 200, objectMapper.writeValueAsBytes(
+                    BenchFixtures.processingState(enabled.get(), enabled.get() ? 12.5 : 0.0,
+                        filesProcessed.addAndGet(enabled.get() ? 1 : 0))));
+                case "/api/processing/start", "/api/processing/stop" -> {
+                    if (!post) {
+                        respond(exchange, 405, new byte[0]);
+                        return;
+                    }
+                    enabled.set(path.endsWith("start"));
+                    respond(exchange, 200, objectMapper.writeValueAsBytes(
+                        Map.of("status", "ok", "enabled", enabled.get())));
+                }
+                case "/api/processing/reset", "/api/processing/reset-counters", "/api/clear", "/api/reprocess-all" -> {
+                    filesProcessed.set(0);
+                    respond(exchange, 200, objectMapper.writeValueAsBytes(Map.of("status", "ok")));
+                }
+                case "/api/processing/files-processed" -> respond(exchange, 200, objectMapper.writeValueAsBytes(Map.of(
+                    "filesProcessed", filesProcessed.get(),
+                    "filesTotal", filesProcessed.get() + 25,
+                    "timestamp", System.currentTimeMillis())));
+                case "/api/files" -> respond(exchange, 200, filesJson);
+                case "/api/files/processed", "/files/processed" -> respond(exchange, 200, processedJson);
+                default -> respond(exchange, 404, new byte[0]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Writes .gz and .br variants next to every compressible file in dist/ so the API can serve
+// them precompressed. Variants that would not be smaller than the original are skipped.
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs'
+import { join } from 'node:path'
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+
+const root = new URL('../dist/', import.meta.url).pathname
+const compressible = /\.(js|mjs|css|html|svg|json|txt|map)$/
+const minBytes = 1024
+
+function walk(dir) {
+  for (const name of readdirSync(dir)) {
+    const path = join(dir, name)
+    if (statSync(path).isDirectory()) {
+      walk(path)
+    } else if (compressible.test(name)) {
+      compress(path)
+    }
+  }
+}
+
+function compress(path) {
+  const source = readFileSync(path)
+  if (source.length < minBytes) return
+  const variants = {
+    '.br': brotliCompressSync(source, {
+      params: {
+        [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+        [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+      },
+    }),
+    '.gz': gzipSync(source, { level: 9 }),
+  }
+  for (const [suffix, compressed] of Object.entries(variants)) {
+    if (compressed.length < source.length) {
+      writeFileSync(path + suffix, compressed)
+    }
+  }
+}
+
+walk(root)
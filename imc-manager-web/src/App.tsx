@@ -3,6 +3,24 @@ import { BrowserRouter, Link, Route, Routes, useLocation } from 'react-router-do
 import { useSharedSSE, type EventDto } from './lib/sse'
 import EnhancedTelemetry from './components/EnhancedTelemetry'
 
+// One stage of /api/services/rag-pipeline/progress
+type PipelineStageProgress = {
+  name: string
+  displayName: string
+  filesProcessed: number
+  chunksProcessed: number | null
+  backlog: number
+  filesPerMinute: number
+  chunksPerMinute: number | null
+  error?: string
+}
+
+function formatEta(seconds: number): string {
+  if (seconds < 60) return `${seconds}s`
+  if (seconds < 3600) return `${Math.round(seconds / 60)}m`
+  return `${Math.floor(seconds / 3600)}h ${Math.round((seconds % 3600) / 60)}m`
+}
+
 function Header({ connected }: { connected: boolean }) {
   return (
     <header className="bg-gray-800/50 border-b border-gray-700 px-6 py-4 flex items-center justify-between">
@@ -379,8 +397,9 @@ function RAGPipeline() {
     displayName: string;
     description: string;
     status: string;
-    lastCheck: string;
+    statusSince: string | null;
     url?: string;
+    stale?: boolean;
   }>>([]);
   
   // HDFS files data
@@ -392,6 +411,8 @@ function RAGPipeline() {
   
   const [loading, setLoading] = useState(true);
   const [filesLoading, setFilesLoading] = useState(true);
+  // Set when the manager's file catalog has not synced from hdfsWatcher recently
+  const [filesStale, setFilesStale] = useState(false);
   const [reprocessing, setReprocessing] = useState(false);
   const [restartingPipeline, setRestartingPipeline] = useState(false);
   
@@ -408,7 +429,10 @@ function RAGPipeline() {
     textProcFiles: number;  
     embedProcFiles: number;
     completeFiles: number;
-  }>({ hdfsFiles: 0, textProcFiles: 0, embedProcFiles: 0, completeFiles: 0 });
+    stages: PipelineStageProgress[];
+    bottleneck: string | null;
+    etaSeconds: number | null;
+  }>({ hdfsFiles: 0, textProcFiles: 0, embedProcFiles: 0, completeFiles: 0, stages: [], bottleneck: null, etaSeconds: null });
   const [overview, setOverview] = useState<{
     totalServices: number;
     activeServices: number;
@@ -457,6 +481,7 @@ function RAGPipeline() {
           
           console.log(`Found ${files.length} files:`, files);
           setHdfsFiles(files);
+          setFilesStale(data.stale === true);
           // Use totalFiles from hdfsWatcher API - this is the stable count of processed files
           if (data.totalFiles && data.totalFiles > 0) {
             const newCount = data.totalFiles;
@@ -564,46 +589,30 @@ function RAGPipeline() {
     }
   };
 
-  // Fetch pipeline progress from all services
+  // Fetch pipeline progress: one call covering every stage, computed server-side
   const fetchPipelineProgress = async () => {
     try {
-      const [textProcResponse, embedProcResponse] = await Promise.all([
-        fetch('/api/services/textproc/files/processed', { credentials: 'include' }).catch(() => null),
-        fetch('/api/services/embedproc/files/processed', { credentials: 'include' }).catch(() => null)
-      ]);
-
-      let textProcFiles = 0;
-      let embedProcFiles = 0;
-
-      // Get textProc processed files
-      if (textProcResponse && textProcResponse.ok) {
-        const textData = await textProcResponse.json();
-        textProcFiles = (textData.files && textData.files.length > 0) ? textData.files.length : (textData.processedCount || 0);
+      const response = await fetch('/api/services/rag-pipeline/progress', { credentials: 'include' });
+      if (!response.ok) {
+        console.warn('Failed to fetch pipeline progress:', response.status, response.statusText);
+        return;
       }
-
-      // Get embedProc processed files  
-      if (embedProcResponse && embedProcResponse.ok) {
-        const embedData = await embedProcResponse.json();
-        embedProcFiles = (embedData.files && embedData.files.length > 0) ? embedData.files.length : (embedData.processedCount || 0);
-        console.log('EmbedProc API response:', embedData, 'Extracted count:', embedProcFiles);
-      }
-
-      // Use persistent total files count to prevent jumping to 0
-      // FIXED: Always use totalFilesCount if it's been set, never allow hdfsFiles to drop to 0
-      const currentHdfsCount = totalFilesCount > 0 ? totalFilesCount : 0;
-      
-      console.log('DEBUG: hdfsFiles.length =', hdfsFiles.length, 'totalFilesCount =', totalFilesCount, 'currentHdfsCount =', currentHdfsCount);
-
-      const newProgress = {
-        hdfsFiles: currentHdfsCount,
-        textProcFiles,
-        embedProcFiles,
-        completeFiles: embedProcFiles // Complete = embedProc finished
-      };
-      
-      console.log('Setting pipeline progress:', newProgress);
-      setPipelineProgress(newProgress);
-
+      const progress = await response.json();
+      const stages: PipelineStageProgress[] = progress.stages || [];
+      const processed = (name: string) => stages.find(stage => stage.name === name)?.filesProcessed || 0;
+
+      // Keep the last known total if the server has not seen hdfsWatcher's files yet
+      const hdfsFiles = progress.totalFiles > 0 ? progress.totalFiles : totalFilesCount;
+
+      setPipelineProgress({
+        hdfsFiles,
+        textProcFiles: processed('textproc'),
+        embedProcFiles: processed('embedproc'),
+        completeFiles: progress.completeFiles || 0,
+        stages,
+        bottleneck: progress.bottleneck || null,
+        etaSeconds: progress.etaSeconds ?? null
+      });
     } catch (error) {
       console.error('Error fetching pipeline progress:', error);
     }
@@ -622,8 +631,21 @@ function RAGPipeline() {
       });
 
       if (response.ok) {
-        const data = await response.json();
+        let data = await response.json();
         console.log('Pipeline restart response:', data);
+
+        // The restart runs as a background job; poll it until every step has finished
+        if (data.jobId) {
+          while (!data.error && (!data.status || data.status === 'accepted' || data.status === 'RUNNING')) {
+            await new Promise(resolve => setTimeout(resolve, 1000));
+            const jobResponse = await fetch(`/api/services/restart-pipeline/${data.jobId}`, { credentials: 'include' });
+            if (!jobResponse.ok) {
+              data = { error: `Failed to read restart job: ${jobResponse.status}` };
+              break;
+            }
+            data = await jobResponse.json();
+          }
+        }
         
         if (data.error) {
           alert(`Error: ${data.error}`);
@@ -751,6 +773,29 @@ function RAGPipeline() {
     }
   };
 
+  // Start or stop several services in one request; the API runs the calls concurrently
+  const controlServices = async (action: 'start' | 'stop', serviceNames: string[]) => {
+    if (serviceNames.length === 0) return;
+    try {
+      const response = await fetch('/api/services/control', {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ action, services: serviceNames })
+      });
+      const data = await response.json().catch(() => null);
+      if (response.status === 207 && data?.results) {
+        const failed = data.results
+          .filter((r: { outcome: string }) => r.outcome !== 'SUCCEEDED')
+          .map((r: { service: string; instanceId?: string; outcome: string }) =>
+            `${r.service}${r.instanceId ? ` (${r.instanceId})` : ''}: ${r.outcome}`);
+        console.error(`Failed to ${action} some services:`, failed);
+      }
+      window.dispatchEvent(new Event('refresh-services'));
+    } catch (error) {
+      console.error(`Failed to ${action} services:`, error);
+    }
+  };
+
   // Listen for refresh events
   useEffect(() => {
     const handleRefresh = () => {
@@ -1025,11 +1070,14 @@ function RAGPipeline() {
               <div className="space-y-2">
                 <div className="flex justify-between text-sm">
                   <span className="text-gray-400">Status:</span>
-                  <span className={isActive ? 'text-green-400' : 'text-red-400'}>{service.status}</span>
+                  <span className={isActive ? 'text-green-400' : 'text-red-400'}>
+                    {service.status}
+                    {service.stale && <span className="ml-2 text-xs text-yellow-400">(last known)</span>}
+                  </span>
                 </div>
                 <div className="flex justify-between text-sm">
-                  <span className="text-gray-400">Last Check:</span>
-                  <span className="text-gray-300">{service.lastCheck}</span>
+                  <span className="text-gray-400">Status Since:</span>
+                  <span className="text-gray-300">{service.statusSince ?? 'N/A'}</span>
                 </div>
               </div>
             </div>
@@ -1043,14 +1091,19 @@ function RAGPipeline() {
           <div>
             <h3 className="text-lg font-semibold text-white">Pipeline Progress</h3>
             <p className="text-sm text-gray-400 mt-1">Real-time document processing flow</p>
+            {pipelineProgress.bottleneck && (
+              <p className="text-xs text-gray-400 mt-1">
+                Bottleneck: {pipelineProgress.stages.find(stage => stage.name === pipelineProgress.bottleneck)?.displayName || pipelineProgress.bottleneck}
+                {' · '}
+                ETA: {pipelineProgress.etaSeconds !== null ? formatEta(pipelineProgress.etaSeconds) : 'unknown'}
+              </p>
+            )}
           </div>
           <div className="flex gap-2">
             <button
               onClick={() => {
                 // Start all services
-                services.filter(s => s.status !== 'STARTED').forEach(service => {
-                  startService(service.name);
-                });
+                controlServices('start', services.filter(s => s.status !== 'STARTED').map(s => s.name));
               }}
               className="px-4 py-2 rounded-lg text-sm font-medium bg-green-600 hover:bg-green-700 text-white transition-colors"
             >
@@ -1059,9 +1112,7 @@ function RAGPipeline() {
             <button
               onClick={() => {
                 // Stop all services
-                services.filter(s => s.status === 'STARTED').forEach(service => {
-                  stopService(service.name);
-                });
+                controlServices('stop', services.filter(s => s.status === 'STARTED').map(s => s.name));
               }}
               className="px-4 py-2 rounded-lg text-sm font-medium bg-red-600 hover:bg-red-700 text-white transition-colors"
             >
@@ -1208,7 +1259,10 @@ function RAGPipeline() {
       <div className="mt-8 bg-gray-800/50 border border-gray-700 rounded-lg shadow-lg">
         <div className="p-4 border-b border-gray-700 flex justify-between items-center">
           <div>
-            <h3 className="text-lg font-semibold text-white">Pipeline Files</h3>
+            <h3 className="text-lg font-semibold text-white">
+              Pipeline Files
+              {filesStale && <span className="ml-2 text-xs text-yellow-400">(last known)</span>}
+            </h3>
             <p className="text-sm text-gray-400 mt-1">Document processing status and file management</p>
           </div>
           <div className="flex gap-2">
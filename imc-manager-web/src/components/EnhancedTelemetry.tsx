@@ -44,6 +44,19 @@ interface EnhancedTelemetryProps {
   onComponentClick: (componentName: string, url?: string) => void;
 }
 
+// One managed service's entry under components in /api/metrics; rates and counts the service
+// does not report are absent
+interface ServiceMetrics {
+  processingRate?: number;
+  filesProcessed?: number;
+  filesPerMinute1m?: number;
+  activeInstances: number;
+}
+
+interface MetricsResponse {
+  components?: Record<string, ServiceMetrics>;
+}
+
 interface ComponentMetrics {
   [key: string]: {
     key1: string;
@@ -72,14 +85,23 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
   const fetchMetrics = async () => {
     try {
       const response = await fetch('/api/metrics');
-      const metrics = await response.json();
+      const metrics: MetricsResponse = await response.json();
       return metrics;
     } catch (error) {
       console.error('Failed to fetch metrics:', error);
-      return {};
+      return {} as MetricsResponse;
     }
   };
 
+  const formatCount = (value: number) =>
+    value >= 1_000_000 ? `${(value / 1_000_000).toFixed(1)}M`
+      : value >= 1_000 ? `${(value / 1_000).toFixed(1)}K`
+      : `${Math.round(value)}`;
+
+  // A value the service does not report keeps the box's placeholder
+  const countOr = (value: number | undefined, fallback: string) =>
+    value !== undefined ? formatCount(value) : fallback;
+
   // Note: Component health fetching will be integrated in future versions
   // const fetchComponentHealth = async () => {
   //   try {
@@ -97,25 +119,30 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
     const metrics = await fetchMetrics();
     // Note: health data will be integrated in future versions
     // const health = await fetchComponentHealth();
-    
+
+    // Boxes backed by a managed service read its entry; the rest have no source yet and keep defaults
+    const generator = metrics.components?.['vehicle-events'];
+    const processor = metrics.components?.['data-processor'];
+    const sink = metrics.components?.['hdfs-sink'];
+
     const newMetrics: ComponentMetrics = {
       'telemetry-generator': {
         key1: 'Events/sec',
-        value1: metrics.telemetry_rate || '1.2K',
+        value1: countOr(generator?.processingRate, '1.2K'),
         key2: 'Total Events',
-        value2: metrics.total_events || '2.1M'
+        value2: countOr(generator?.filesProcessed, '2.1M')
       },
       'telematics-exchange': {
         key1: 'Queue Depth',
-        value1: metrics.queue_depth?.toString() || '42',
+        value1: '42',
         key2: 'Messages/sec',
-        value2: metrics.exchange_rate || '950'
+        value2: '950'
       },
       'hdfs-sink': {
         key1: 'Files Written',
-        value1: metrics.files_written || '1,204',
-        key2: 'Data Size',
-        value2: metrics.hdfs_size || '2.1GB'
+        value1: countOr(sink?.filesProcessed, '1,204'),
+        key2: sink?.filesPerMinute1m !== undefined ? 'Files/min' : 'Data Size',
+        value2: countOr(sink?.filesPerMinute1m, '2.1GB')
       },
       'hadoop-hdfs': {
         key1: 'Storage Used',
@@ -125,19 +152,19 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
       },
       'events-processor': {
         key1: 'Processed/sec',
-        value1: metrics.processor_rate || '850',
-        key2: 'Error Rate',
-        value2: metrics.error_rate || '0.02%'
+        value1: countOr(processor?.processingRate, '850'),
+        key2: processor ? 'Instances' : 'Error Rate',
+        value2: processor ? `${processor.activeInstances}` : '0.02%'
       },
       'vehicle-events-queue': {
         key1: 'Queue Length',
-        value1: metrics.events_queue || '12',
+        value1: '12',
         key2: 'Consumers',
         value2: '3'
       },
       'jdbc-sink': {
         key1: 'DB Inserts/sec',
-        value1: metrics.db_inserts || '750',
+        value1: '750',
         key2: 'Batch Size',
         value2: '100'
       },
@@ -149,7 +176,7 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
       },
       'greenplum-db': {
         key1: 'Table Rows',
-        value1: metrics.db_rows || '2.1M',
+        value1: '2.1M',
         key2: 'Queries/min',
         value2: '45'
       }
@@ -488,54 +515,6 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
 
   const delay = (ms: number) => new Promise(resolve => setTimeout(resolve, ms));
 
-  // Service Registry Function - EXACTLY as in imc-smartdriver-ui
-  let cachedDbServerUrl: string | null = null;
-  let cacheTimestamp: number | null = null;
-  const CACHE_DURATION = 5 * 60 * 1000; // 5 minutes
-
-  const getDbServerUrl = async (): Promise<string> => {
-    // Return cached URL if still valid
-    if (cachedDbServerUrl && cacheTimestamp && (Date.now() - cacheTimestamp < CACHE_DURATION)) {
-      console.log('🔍 Using cached db-server URL:', cachedDbServerUrl);
-      return cachedDbServerUrl;
-    }
-    
-    console.log('🔍 Service discovery: Looking for imc-db-server...');
-    
-    try {
-      // Try to get from service registry via UI's discovery endpoint
-      console.log('🔍 Trying service discovery endpoint: /discovery/services/imc-db-server');
-      const response = await fetch('/discovery/services/imc-db-server');
-      console.log('🔍 Service discovery response:', response.status, response.ok);
-      
-      if (response.ok) {
-        const services = await response.json();
-        console.log('🔍 Discovered services:', services);
-        if (services && services.length > 0) {
-          const dbService = services[0]; // Take first available instance
-          cachedDbServerUrl = `${dbService.scheme}://${dbService.host}:${dbService.port}`;
-          cacheTimestamp = Date.now();
-          console.log('✅ Cached new db-server URL:', cachedDbServerUrl);
-          return cachedDbServerUrl;
-        }
-      }
-      
-      // Fallback to Cloud Foundry imc-db-server if service discovery fails
-      console.log('🔍 Service discovery failed, using Cloud Foundry URL');
-      cachedDbServerUrl = 'https://imc-db-server.apps.tas-ndc.kuhn-labs.com';
-      cacheTimestamp = Date.now();
-      console.log('✅ Using CF db-server URL:', cachedDbServerUrl);
-      return cachedDbServerUrl;
-      
-    } catch (error) {
-      console.warn('🔍 Service discovery error, using Cloud Foundry URL:', error);
-      cachedDbServerUrl = 'https://imc-db-server.apps.tas-ndc.kuhn-labs.com';
-      cacheTimestamp = Date.now();
-      console.log('✅ Using CF db-server URL:', cachedDbServerUrl);
-      return cachedDbServerUrl;
-    }
-  };
-
   // Load Safe Driver Data - EXACTLY as in imc-smartdriver-ui
   const loadSafeDriverData = async () => {
     try {
@@ -548,50 +527,14 @@ const EnhancedTelemetry: React.FC<EnhancedTelemetryProps> = ({
       if (highRiskCountEl) highRiskCountEl.textContent = '...';
       if (mlAccuracyEl) mlAccuracyEl.textContent = '...';
       
-      // Get imc-db-server URL from service registry and fetch data
-      const dbServerUrl = await getDbServerUrl();
-      const DB_INSTANCE = 'db01'; // Default database instance
-      
-      console.log(`🚀 Making API calls to ${dbServerUrl} for database instance: ${DB_INSTANCE}`);
-      
-      // Make API calls with individual error handling
-      const [fleetSummary, topPerformers, highRiskDrivers, mlModelInfo, vehicleEvents] = await Promise.allSettled([
-        fetch(`${dbServerUrl}/api/${DB_INSTANCE}/fleet/summary`).then(async r => {
-          console.log(`📊 Fleet summary response: ${r.status} ${r.statusText}`);
-          if (!r.ok) throw new Error(`HTTP ${r.status}: ${r.statusText}`);
-          const data = await r.json();
-          console.log('📊 Fleet summary data:', data);
-          return data;
-        }).catch(e => ({ error: e.message || e, endpoint: 'fleet/summary' })),
-        fetch(`${dbServerUrl}/api/${DB_INSTANCE}/drivers/top-performers?limit=10`).then(async r => {
-          console.log(`🏆 Top performers response: ${r.status} ${r.statusText}`);
-          if (!r.ok) throw new Error(`HTTP ${r.status}: ${r.statusText}`);
-          const data = await r.json();
-          console.log('🏆 Top performers data:', data);
-          return data;
-        }).catch(e => ({ error: e.message || e, endpoint: 'top-performers' })),
-        fetch(`${dbServerUrl}/api/${DB_INSTANCE}/drivers/high-risk?limit=10`).then(async r => {
-          console.log(`⚠️ High risk response: ${r.status} ${r.statusText}`);
-          if (!r.ok) throw new Error(`HTTP ${r.status}: ${r.statusText}`);
-          const data = await r.json();
-          console.log('⚠️ High risk data:', data);
-          return data;
-        }).catch(e => ({ error: e.message || e, endpoint: 'high-risk' })),
-        fetch(`${dbServerUrl}/api/${DB_INSTANCE}/ml/model-info`).then(async r => {
-          console.log(`🤖 ML model response: ${r.status} ${r.statusText}`);
-          if (!r.ok) throw new Error(`HTTP ${r.status}: ${r.statusText}`);
-          const data = await r.json();
-          console.log('🤖 ML model data:', data);
-          return data;
-        }).catch(e => ({ error: e.message || e, endpoint: 'ml/model-info' })),
-        fetch(`${dbServerUrl}/api/${DB_INSTANCE}/vehicle-events/high-gforce?limit=5`).then(async r => {
-          console.log(`🚗 Vehicle events response: ${r.status} ${r.statusText}`);
-          if (!r.ok) throw new Error(`HTTP ${r.status}: ${r.statusText}`);
-          const data = await r.json();
-          console.log('🚗 Vehicle events data:', data);
-          return data;
-        }).catch(e => ({ error: e.message || e, endpoint: 'vehicle-events' }))
-      ]).then(results => results.map(result => result.status === 'fulfilled' ? result.value : result.reason));
+      // imc-manager queries imc-db-server on a shared schedule and serves all five results at once;
+      // a query that failed without an earlier result comes back as { error, endpoint } as before
+      const response = await fetch('/api/telemetry/dashboard', { credentials: 'include' });
+      if (!response.ok) throw new Error(`HTTP ${response.status}: ${response.statusText}`);
+      const dashboard = await response.json();
+      const section = (key: string) => dashboard[key] ?? { error: dashboard.errors?.[key] || 'No data', endpoint: key };
+      const [fleetSummary, topPerformers, highRiskDrivers, mlModelInfo, vehicleEvents] =
+        ['fleetSummary', 'topPerformers', 'highRiskDrivers', 'mlModelInfo', 'vehicleEvents'].map(section);
       
       console.log('📥 Raw API responses:', { fleetSummary, topPerformers, highRiskDrivers, mlModelInfo, vehicleEvents });
       
@@ -3,8 +3,10 @@ import { useEffect, useRef, useState } from 'react'
 export type EventDto = {
   app?: string
   stage?: string
-  event?: 'INIT' | 'HEARTBEAT' | 'FILE_PROCESSED'
+  event?: 'INIT' | 'HEARTBEAT' | 'FILE_PROCESSED' | 'STATUS_CHANGE' | 'RESTART_PROGRESS'
   instanceId?: string
+  jobId?: string
+  stepId?: string
   docId?: string
   timestamp: number
   latencyMs?: number
@@ -4,6 +4,10 @@ import react from '@vitejs/plugin-react'
 // https://vitejs.dev/config/
 export default defineConfig({
   plugins: [react()],
+  build: {
+    // Content-hashed bundles live in their own directory, which the API caches as immutable
+    assetsDir: 'assets/bundle',
+  },
   server: {
     port: 5173,
     proxy: {
@@ -0,0 +1,58 @@
+#!/bin/bash
+
+# IMC Manager startup timing
+# Starts the manager repeatedly as a plain jar and as the fast-start build (Spring AOT + CDS
+# archive) and reports the time from launch to the first 200 from /api/health.
+#
+# Usage:
+#   mvn -Pfast-start clean verify -DskipTests
+#   ./scripts/measure-startup.sh [runs] [port]
+
+set -e
+
+RUNS=${1:-5}
+PORT=${2:-18080}
+FAST_DIR="imc-manager-api/target/fast-start"
+
+if [ ! -f "$FAST_DIR/application.jsa" ]; then
+    echo "No CDS archive in $FAST_DIR; build with: mvn -Pfast-start clean verify -DskipTests"
+    exit 1
+fi
+JAR=$(cd "$FAST_DIR" && ls imc-manager-api-*.jar | head -1)
+
+# Same settings for both modes; no registry is needed to answer /api/health
+COMMON_OPTS="-Dserver.port=$PORT -Dspring.profiles.active=cloud -Dspring.main.cloud-platform=cloud_foundry \
+-Dspring.cloud.refresh.enabled=false -Deureka.client.fetch-registry=false -Deureka.client.register-with-eureka=false \
+-Dimc-manager.history.path=timing/status-history.dat -Dimc-manager.snapshot.path=timing/service-snapshot.json"
+
+# Launches the manager in $FAST_DIR with extra JVM options and prints ms until the first 200
+time_to_first_200() {
+    local start end pid
+    start=$(date +%s%N)
+    (cd "$FAST_DIR" && exec java $COMMON_OPTS "$@" -jar "$JAR" > /dev/null 2>&1) &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/health")" = "200" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "failed"
+            return
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+report() {
+    local mode=$1
+    shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        times+=("$(time_to_first_200 "$@")")
+    done
+    echo "$mode: ${times[*]} ms"
+}
+
+report "plain jar      " -Xshare:auto
+report "AOT + CDS      " -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true